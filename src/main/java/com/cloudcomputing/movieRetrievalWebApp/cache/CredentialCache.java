@@ -0,0 +1,92 @@
+package com.cloudcomputing.movieRetrievalWebApp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.timgroup.statsd.StatsDClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Short-lived cache of credentials that recently passed a BCrypt check, so repeat
+ * Basic-auth requests from the same client can skip the hash. Entries are keyed by
+ * email and hold an HMAC of email and password under a per-process random key; the
+ * plaintext password is never stored. An entry only matches while the user's stored
+ * hash is unchanged, and UserService drops a user's entry when the password changes.
+ */
+@Component
+public class CredentialCache {
+
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+  private final SecretKeySpec hmacKey;
+  private final ThreadLocal<Mac> macs;
+  // One entry per email: only the correct password is ever marked verified, so there is
+  // never more than one to remember, and invalidating a user is a single removal.
+  private final Cache<String, VerifiedCredential> verifiedCredentials;
+
+  @Autowired
+  public CredentialCache(@Value("${app.cache.credentials.maximum-size:10000}") long maximumSize,
+                         @Value("${app.cache.credentials.ttl-seconds:60}") long ttlSeconds,
+                         StatsDClient statsDClient) {
+    byte[] keyBytes = new byte[32];
+    new SecureRandom().nextBytes(keyBytes);
+    this.hmacKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+    this.macs = ThreadLocal.withInitial(this::newMac);
+    this.verifiedCredentials = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+        .recordStats(() -> new StatsDStatsCounter(statsDClient, "cache.credentials"))
+        .build();
+  }
+
+  public boolean isVerified(String email, String rawPassword, String passwordHash) {
+    VerifiedCredential verified = verifiedCredentials.getIfPresent(email);
+    return verified != null
+        && verified.passwordHash.equals(passwordHash)
+        && MessageDigest.isEqual(verified.digest, digestOf(email, rawPassword));
+  }
+
+  public void markVerified(String email, String rawPassword, String passwordHash) {
+    verifiedCredentials.put(email, new VerifiedCredential(digestOf(email, rawPassword), passwordHash));
+  }
+
+  public void invalidate(String email) {
+    verifiedCredentials.invalidate(email);
+  }
+
+  private byte[] digestOf(String email, String rawPassword) {
+    Mac mac = macs.get();
+    mac.update(email.getBytes(StandardCharsets.UTF_8));
+    mac.update((byte) 0);
+    return mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Mac newMac() {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(hmacKey);
+      return mac;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("HMAC algorithm unavailable: " + HMAC_ALGORITHM, e);
+    }
+  }
+
+  private static final class VerifiedCredential {
+    private final byte[] digest;
+    private final String passwordHash;
+
+    private VerifiedCredential(byte[] digest, String passwordHash) {
+      this.digest = digest;
+      this.passwordHash = passwordHash;
+    }
+  }
+}
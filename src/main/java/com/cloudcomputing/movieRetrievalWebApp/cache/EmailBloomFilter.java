@@ -0,0 +1,118 @@
+package com.cloudcomputing.movieRetrievalWebApp.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over email addresses. {@link #mightContain} never returns
+ * false for an address that was {@link #put}; it returns true for an absent address
+ * with a probability that grows as the filter fills. Safe for concurrent use.
+ */
+public class EmailBloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bitSize;
+  private final int hashCount;
+
+  /**
+   * Sizes the filter for {@code expectedInsertions} entries at a false-positive rate of
+   * {@code falsePositiveRate}: m = -n ln p / (ln 2)^2 bits and k = (m / n) ln 2 hashes.
+   */
+  public EmailBloomFilter(long expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions < 1) {
+      throw new IllegalArgumentException("Expected insertions must be positive.");
+    }
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("False positive rate must be between 0 and 1.");
+    }
+    long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) >>> 6));
+    this.words = new AtomicLongArray(wordCount);
+    this.bitSize = (long) wordCount << 6;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+  }
+
+  /**
+   * Adds {@code email}. Returns true when this changed the filter, i.e. the address
+   * was definitely not present before.
+   */
+  public boolean put(String email) {
+    long hash = hash(email);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    boolean changed = false;
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = index(h1 + i * h2);
+      long mask = 1L << bit;
+      int word = (int) (bit >>> 6);
+      long current;
+      do {
+        current = words.get(word);
+        if ((current & mask) != 0) {
+          break;
+        }
+      } while (!words.compareAndSet(word, current, current | mask));
+      changed |= (current & mask) == 0;
+    }
+    return changed;
+  }
+
+  public boolean mightContain(String email) {
+    long hash = hash(email);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = index(h1 + i * h2);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public long bitSize() {
+    return bitSize;
+  }
+
+  public int hashCount() {
+    return hashCount;
+  }
+
+  public long memoryBytes() {
+    return bitSize >>> 3;
+  }
+
+  /**
+   * Current false-positive probability, estimated from the fraction of bits set:
+   * a lookup for an absent address fails only if all k probed bits happen to be set.
+   */
+  public double expectedFalsePositiveRate() {
+    long setBits = 0;
+    for (int i = 0; i < words.length(); i++) {
+      setBits += Long.bitCount(words.get(i));
+    }
+    return Math.pow((double) setBits / bitSize, hashCount);
+  }
+
+  private long index(int combinedHash) {
+    // Flip negative combinations instead of taking abs(), which is negative for MIN_VALUE.
+    int positive = combinedHash < 0 ? ~combinedHash : combinedHash;
+    return positive % bitSize;
+  }
+
+  // 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 fmix64 avalanche so
+  // that both 32-bit halves are usable as independent hashes (Kirsch-Mitzenmacher).
+  private static long hash(String email) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : email.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb93e7dea0a2dL;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,176 @@
+package com.cloudcomputing.movieRetrievalWebApp.cache;
+
+import com.timgroup.statsd.StatsDClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Membership filter over every registered email address, consulted before any
+ * user lookup on the authentication path so that addresses which definitely do
+ * not exist are rejected without a database round trip.
+ *
+ * Until the first {@link #rebuild} completes every address is reported as possibly
+ * present. Addresses registered on other instances only arrive with the next sync, so
+ * a miss is trusted only while the last completed sync ({@link #markSynced}) is recent;
+ * after a rebuild, and whenever syncing stalls, misses fall through to the database.
+ * Bloom filters cannot forget, so deletions only count towards the next
+ * rebuild; KnownEmailFilterRefresher rebuilds periodically and whenever
+ * {@link #needsRebuild()} says the filter has drifted.
+ */
+@Component
+public class KnownEmailFilter {
+
+  private static final Logger LOGGER = Logger.getLogger(KnownEmailFilter.class.getName());
+
+  private final long minimumCapacity;
+  private final double falsePositiveRate;
+  private final long maxStalenessMillis;
+  private final StatsDClient statsDClient;
+
+  private final AtomicLong entries = new AtomicLong();
+  private final AtomicLong staleEntries = new AtomicLong();
+
+  private volatile EmailBloomFilter active;
+  private volatile EmailBloomFilter pending;
+  private volatile long capacity;
+  // Wall-clock start of the last sync completed against the active filter; 0 until then.
+  private volatile long syncedAt;
+
+  @Autowired
+  public KnownEmailFilter(@Value("${app.auth.email-filter.expected-insertions:100000}") long minimumCapacity,
+                          @Value("${app.auth.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                          @Value("${app.auth.email-filter.max-staleness-ms:3000}") long maxStalenessMillis,
+                          StatsDClient statsDClient) {
+    this.minimumCapacity = minimumCapacity;
+    this.falsePositiveRate = falsePositiveRate;
+    this.maxStalenessMillis = maxStalenessMillis;
+    this.statsDClient = statsDClient;
+  }
+
+  /**
+   * Returns false only when {@code email} is certainly not registered.
+   */
+  public boolean mightExist(String email) {
+    EmailBloomFilter filter = active;
+    if (filter == null || filter.mightContain(normalize(email))) {
+      return true;
+    }
+    if (System.currentTimeMillis() - syncedAt > maxStalenessMillis) {
+      // The address may have been registered elsewhere since the last sync.
+      statsDClient.incrementCounter("auth.email_filter.stale_miss");
+      return true;
+    }
+    statsDClient.incrementCounter("auth.email_filter.rejected");
+    return false;
+  }
+
+  public void add(String email) {
+    String normalized = normalize(email);
+    // Read pending before active: a rebuild publishes active before clearing pending,
+    // so whichever way this races with the swap the address lands in the new filter.
+    // A rebuild in progress may already have streamed past this row.
+    EmailBloomFilter building = pending;
+    if (building != null) {
+      building.put(normalized);
+    }
+    EmailBloomFilter filter = active;
+    if (filter != null && filter.put(normalized)) {
+      entries.incrementAndGet();
+    }
+  }
+
+  public void remove(String email) {
+    if (active != null) {
+      staleEntries.incrementAndGet();
+    }
+  }
+
+  /**
+   * Called when a lookup the filter let through found no user.
+   */
+  public void recordFalsePositive() {
+    if (active == null) {
+      return;
+    }
+    statsDClient.incrementCounter("auth.email_filter.false_positive");
+  }
+
+  /**
+   * Records that every address registered before {@code startedAtMillis} is in the
+   * active filter.
+   */
+  public void markSynced(long startedAtMillis) {
+    syncedAt = startedAtMillis;
+  }
+
+  public boolean isReady() {
+    return active != null;
+  }
+
+  /**
+   * True once enough addresses were deleted, or added beyond the sized capacity,
+   * that the actual false-positive rate has drifted well above the target.
+   */
+  public boolean needsRebuild() {
+    long count = entries.get();
+    return active != null && (staleEntries.get() > count / 10 || count > capacity);
+  }
+
+  /**
+   * Builds a fresh filter sized for {@code knownCount} addresses (with headroom for
+   * growth) from {@code source}, then swaps it in. Additions made while the source
+   * is being read are applied to both filters, so none are lost in the swap.
+   */
+  public synchronized void rebuild(long knownCount, Consumer<Consumer<String>> source) {
+    long newCapacity = Math.max(minimumCapacity, knownCount * 2);
+    EmailBloomFilter building = new EmailBloomFilter(newCapacity, falsePositiveRate);
+    AtomicLong built = new AtomicLong();
+    pending = building;
+    try {
+      source.accept(email -> {
+        if (building.put(normalize(email))) {
+          built.incrementAndGet();
+        }
+      });
+      capacity = newCapacity;
+      entries.set(built.get());
+      staleEntries.set(0);
+      // The source may lag (it can be read from the replica), so the new filter is not
+      // trusted to reject anything until the next sync has caught it up.
+      syncedAt = 0;
+      active = building;
+    } finally {
+      pending = null;
+    }
+    report();
+  }
+
+  /**
+   * Publishes size and accuracy gauges for the active filter and logs them.
+   */
+  public void report() {
+    EmailBloomFilter filter = active;
+    if (filter == null) {
+      return;
+    }
+    double expectedFpp = filter.expectedFalsePositiveRate();
+    statsDClient.gauge("auth.email_filter.entries", entries.get());
+    statsDClient.gauge("auth.email_filter.memory_bytes", filter.memoryBytes());
+    statsDClient.gauge("auth.email_filter.expected_fpp_ppm", Math.round(expectedFpp * 1_000_000));
+    LOGGER.info(String.format(Locale.ROOT,
+        "Email filter: %d entries, %d stale, %d bytes, %d hashes, expected false-positive rate %.4f%%",
+        entries.get(), staleEntries.get(), filter.memoryBytes(), filter.hashCount(), expectedFpp * 100));
+  }
+
+  // Email columns compare case-insensitively in MySQL's default collation, so the filter
+  // must too, or a differently-cased login would be rejected as unknown.
+  private static String normalize(String email) {
+    return email.toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,56 @@
+package com.cloudcomputing.movieRetrievalWebApp.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import com.timgroup.statsd.StatsDClient;
+
+/**
+ * Caffeine StatsCounter that keeps the usual in-process statistics and also
+ * publishes hits, misses and evictions to StatsD under the given metric prefix.
+ */
+public class StatsDStatsCounter implements StatsCounter {
+
+  private final ConcurrentStatsCounter delegate = new ConcurrentStatsCounter();
+  private final StatsDClient statsDClient;
+  private final String metricPrefix;
+
+  public StatsDStatsCounter(StatsDClient statsDClient, String metricPrefix) {
+    this.statsDClient = statsDClient;
+    this.metricPrefix = metricPrefix;
+  }
+
+  @Override
+  public void recordHits(int count) {
+    delegate.recordHits(count);
+    statsDClient.count(metricPrefix + ".hit", count);
+  }
+
+  @Override
+  public void recordMisses(int count) {
+    delegate.recordMisses(count);
+    statsDClient.count(metricPrefix + ".miss", count);
+  }
+
+  @Override
+  public void recordLoadSuccess(long loadTime) {
+    delegate.recordLoadSuccess(loadTime);
+  }
+
+  @Override
+  public void recordLoadFailure(long loadTime) {
+    delegate.recordLoadFailure(loadTime);
+  }
+
+  @Override
+  public void recordEviction(int weight, RemovalCause cause) {
+    delegate.recordEviction(weight, cause);
+    statsDClient.incrementCounter(metricPrefix + ".eviction");
+  }
+
+  @Override
+  public CacheStats snapshot() {
+    return delegate.snapshot();
+  }
+}
@@ -0,0 +1,92 @@
+package com.cloudcomputing.movieRetrievalWebApp.cache;
+
+import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.timgroup.statsd.StatsDClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of User entities, indexed by email address and by
+ * userId. Entries expire after a fixed TTL and the least valuable entries are
+ * evicted once the size limit is reached. UserService keeps it in sync on writes
+ * made through this instance only, so entries are never a source of credentials.
+ */
+@Component
+public class UserCache {
+
+  private final Cache<String, User> usersByEmail;
+  private final Cache<UUID, User> usersById;
+
+  @Autowired
+  public UserCache(@Value("${app.cache.user.maximum-size:10000}") long maximumSize,
+                   @Value("${app.cache.user.ttl-seconds:300}") long ttlSeconds,
+                   StatsDClient statsDClient) {
+    this.usersByEmail = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+        .recordStats(() -> new StatsDStatsCounter(statsDClient, "cache.user.email"))
+        .build();
+    this.usersById = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+        .recordStats(() -> new StatsDStatsCounter(statsDClient, "cache.user.id"))
+        .build();
+  }
+
+  public Optional<User> getByEmail(String email, Function<String, Optional<User>> loader) {
+    User cached = usersByEmail.getIfPresent(email);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    Optional<User> loaded = loader.apply(email);
+    loaded.ifPresent(this::put);
+    return loaded;
+  }
+
+  public Optional<User> getById(UUID userId, Function<UUID, Optional<User>> loader) {
+    User cached = usersById.getIfPresent(userId);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    Optional<User> loaded = loader.apply(userId);
+    loaded.ifPresent(this::put);
+    return loaded;
+  }
+
+  public Optional<User> peekByEmail(String email) {
+    return Optional.ofNullable(usersByEmail.getIfPresent(email));
+  }
+
+  public void put(User user) {
+    usersByEmail.put(user.getEmailAddress(), user);
+    usersById.put(user.getUserId(), user);
+  }
+
+  public void invalidate(String email) {
+    User removed = usersByEmail.asMap().remove(email);
+    if (removed != null) {
+      usersById.invalidate(removed.getUserId());
+    }
+  }
+
+  public CacheStats getEmailCacheStats() {
+    return usersByEmail.stats();
+  }
+
+  public CacheStats getIdCacheStats() {
+    return usersById.stats();
+  }
+
+  public long estimatedSize() {
+    return usersByEmail.estimatedSize();
+  }
+}
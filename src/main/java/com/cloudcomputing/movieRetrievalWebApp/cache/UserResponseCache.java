@@ -0,0 +1,89 @@
+package com.cloudcomputing.movieRetrievalWebApp.cache;
+
+import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.timgroup.statsd.StatsDClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of user profile responses, already serialized to UTF-8 JSON, keyed by
+ * userId. An entry is only served for the exact entity version it was built from, so a
+ * caller holding a newer (or older) User never sees another version's bytes. UserService
+ * drops a user's entry on update and delete.
+ */
+@Component
+public class UserResponseCache {
+
+  private final ObjectMapper objectMapper;
+  private final Cache<UUID, SerializedResponse> responses;
+
+  @Autowired
+  public UserResponseCache(ObjectMapper objectMapper,
+                           @Value("${app.cache.user-response.maximum-size:10000}") long maximumSize,
+                           @Value("${app.cache.user-response.ttl-seconds:600}") long ttlSeconds,
+                           StatsDClient statsDClient) {
+    this.objectMapper = objectMapper;
+    this.responses = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+        .recordStats(() -> new StatsDStatsCounter(statsDClient, "cache.user.response"))
+        .build();
+  }
+
+  /**
+   * Returns the serialized response for this version of the user, building and caching
+   * it on a miss.
+   *
+   * @param user            The user to render; its id and version select the entry.
+   * @param responseFactory Builds the response object to serialize on a miss.
+   * @return UTF-8 JSON bytes; callers must not modify them.
+   */
+  public byte[] get(User user, Function<User, ?> responseFactory) {
+    SerializedResponse cached = responses.getIfPresent(user.getUserId());
+    if (cached != null && cached.version == user.getVersion()) {
+      return cached.json;
+    }
+
+    SerializedResponse built = new SerializedResponse(user.getVersion(), serialize(responseFactory.apply(user)));
+    // A request still holding an older User must not replace a newer entry.
+    responses.asMap().merge(user.getUserId(), built,
+        (existing, candidate) -> existing.version > candidate.version ? existing : candidate);
+    return built.json;
+  }
+
+  public void invalidate(UUID userId) {
+    responses.invalidate(userId);
+  }
+
+  public CacheStats getStats() {
+    return responses.stats();
+  }
+
+  private byte[] serialize(Object response) {
+    try {
+      return objectMapper.writeValueAsBytes(response);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unable to serialize user response", e);
+    }
+  }
+
+  private static final class SerializedResponse {
+    private final long version;
+    private final byte[] json;
+
+    private SerializedResponse(long version, byte[] json) {
+      this.version = version;
+      this.json = json;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * Authenticates requests carrying "Authorization: Bearer <token>" issued by
+ * AccessTokenService. Requests without a bearer token continue down the chain
+ * unchanged, so Basic authentication keeps working.
+ */
+public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
+
+  private static final Logger LOGGER = Logger.getLogger(AccessTokenAuthenticationFilter.class.getName());
+  private static final String BEARER_PREFIX = "Bearer ";
+
+  private final AccessTokenService accessTokenService;
+  private final SecurityContextHolderStrategy securityContextHolderStrategy =
+      SecurityContextHolder.getContextHolderStrategy();
+
+  public AccessTokenAuthenticationFilter(AccessTokenService accessTokenService) {
+    this.accessTokenService = accessTokenService;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+    if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    Optional<AccessTokenClaims> claims = accessTokenService.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+    if (claims.isEmpty()) {
+      LOGGER.warning("Rejected invalid or expired access token.");
+      response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+      response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+      return;
+    }
+
+    SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+    context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+        claims.get(), null, Collections.emptyList()));
+    securityContextHolderStrategy.setContext(context);
+    filterChain.doFilter(request, response);
+  }
+}
@@ -0,0 +1,40 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Verified contents of an access token. Used as the security principal for
+ * requests authenticated with a bearer token.
+ */
+public class AccessTokenClaims implements AuthenticatedPrincipal {
+
+  private final UUID userId;
+  private final String emailAddress;
+  private final Instant expiresAt;
+
+  public AccessTokenClaims(UUID userId, String emailAddress, Instant expiresAt) {
+    this.userId = userId;
+    this.emailAddress = emailAddress;
+    this.expiresAt = expiresAt;
+  }
+
+  public UUID getUserId() {
+    return userId;
+  }
+
+  public String getEmailAddress() {
+    return emailAddress;
+  }
+
+  public Instant getExpiresAt() {
+    return expiresAt;
+  }
+
+  @Override
+  public String getName() {
+    return emailAddress;
+  }
+}
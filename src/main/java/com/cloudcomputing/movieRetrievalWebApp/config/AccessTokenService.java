@@ -0,0 +1,118 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Issues and verifies short-lived HMAC-SHA256 signed access tokens carrying the
+ * user id and email. Verification needs neither the database nor BCrypt.
+ *
+ * Token layout: base64url(payload) "." base64url(signature), where the payload is
+ * "v1|userId|expiresAtEpochSeconds|email".
+ */
+@Component
+public class AccessTokenService {
+
+  private static final Logger LOGGER = Logger.getLogger(AccessTokenService.class.getName());
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+  private static final String VERSION = "v1";
+
+  private final SecretKeySpec signingKey;
+  private final ThreadLocal<Mac> macs;
+  private final long ttlSeconds;
+  private final Clock clock;
+
+  @Autowired
+  public AccessTokenService(@Value("${app.security.token.secret:}") String secret,
+                            @Value("${app.security.token.ttl-seconds:900}") long ttlSeconds) {
+    this(secret, ttlSeconds, Clock.systemUTC());
+  }
+
+  AccessTokenService(String secret, long ttlSeconds, Clock clock) {
+    this.signingKey = new SecretKeySpec(keyBytes(secret), HMAC_ALGORITHM);
+    this.macs = ThreadLocal.withInitial(this::newMac);
+    this.ttlSeconds = ttlSeconds;
+    this.clock = clock;
+  }
+
+  public long getTtlSeconds() {
+    return ttlSeconds;
+  }
+
+  public String issue(User user) {
+    long expiresAt = clock.instant().getEpochSecond() + ttlSeconds;
+    String payload = VERSION + "|" + user.getUserId() + "|" + expiresAt + "|" + user.getEmailAddress();
+    byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+    Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    return encoder.encodeToString(payloadBytes) + "." + encoder.encodeToString(sign(payloadBytes));
+  }
+
+  public Optional<AccessTokenClaims> verify(String token) {
+    int separator = token.indexOf('.');
+    if (separator <= 0 || separator != token.lastIndexOf('.')) {
+      return Optional.empty();
+    }
+
+    try {
+      Base64.Decoder decoder = Base64.getUrlDecoder();
+      byte[] payloadBytes = decoder.decode(token.substring(0, separator));
+      byte[] signature = decoder.decode(token.substring(separator + 1));
+      if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+        return Optional.empty();
+      }
+
+      String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", 4);
+      if (fields.length != 4 || !VERSION.equals(fields[0])) {
+        return Optional.empty();
+      }
+      Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(fields[2]));
+      if (!clock.instant().isBefore(expiresAt)) {
+        return Optional.empty();
+      }
+      return Optional.of(new AccessTokenClaims(UUID.fromString(fields[1]), fields[3], expiresAt));
+    } catch (IllegalArgumentException e) {
+      // Malformed base64, UUID or number.
+      return Optional.empty();
+    }
+  }
+
+  private byte[] sign(byte[] payload) {
+    return macs.get().doFinal(payload);
+  }
+
+  private Mac newMac() {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(signingKey);
+      return mac;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("HMAC algorithm unavailable: " + HMAC_ALGORITHM, e);
+    }
+  }
+
+  private static byte[] keyBytes(String secret) {
+    if (secret != null && !secret.isBlank()) {
+      return secret.getBytes(StandardCharsets.UTF_8);
+    }
+    LOGGER.warning("app.security.token.secret is not set; using a random key. "
+        + "Access tokens will only be accepted by the instance that issued them.");
+    byte[] randomKey = new byte[32];
+    new SecureRandom().nextBytes(randomKey);
+    return randomKey;
+  }
+}
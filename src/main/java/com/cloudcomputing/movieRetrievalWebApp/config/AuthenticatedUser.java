@@ -0,0 +1,90 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserCredentials;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable security principal built from the credential columns only. When the full
+ * User was already in memory during authentication it is kept as well, so controllers
+ * can reuse it instead of fetching it again; otherwise they resolve it by userId.
+ */
+public final class AuthenticatedUser implements UserDetails {
+
+  private final UUID userId;
+  private final String username;
+  private final String password;
+  private final User user;
+
+  public AuthenticatedUser(UserCredentials credentials) {
+    this(credentials, null);
+  }
+
+  /**
+   * The password always comes from {@code credentials}; {@code cachedUser} is only
+   * carried along for controllers to reuse and may be null.
+   */
+  public AuthenticatedUser(UserCredentials credentials, User cachedUser) {
+    this(credentials.userId(), credentials.emailAddress(), credentials.password(), cachedUser);
+  }
+
+  public AuthenticatedUser(User user) {
+    this(user.getUserId(), user.getEmailAddress(), user.getPassword(), user);
+  }
+
+  private AuthenticatedUser(UUID userId, String username, String password, User user) {
+    this.userId = userId;
+    this.username = username;
+    this.password = password;
+    this.user = user;
+  }
+
+  public UUID getUserId() {
+    return userId;
+  }
+
+  public Optional<User> getUser() {
+    return Optional.ofNullable(user);
+  }
+
+  @Override
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return Collections.emptyList(); // No roles/authorities
+  }
+
+  @Override
+  public String getPassword() {
+    return password;
+  }
+
+  @Override
+  public String getUsername() {
+    return username;
+  }
+
+  @Override
+  public boolean isAccountNonExpired() {
+    return true;
+  }
+
+  @Override
+  public boolean isAccountNonLocked() {
+    return true;
+  }
+
+  @Override
+  public boolean isCredentialsNonExpired() {
+    return true;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+}
@@ -0,0 +1,166 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.timgroup.statsd.StatsDClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordEncoder that runs the delegate's encode/matches on a dedicated, bounded
+ * pool instead of the calling request thread. When every hashing thread is busy
+ * and the queue is full, calls fail fast with HashingCapacityExceededException so
+ * a signup or login burst cannot tie up every Tomcat worker on BCrypt.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final long timeoutMs;
+  private final long retryAfterSeconds;
+  private final StatsDClient statsDClient;
+
+  public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity, long timeoutMs,
+                                long retryAfterSeconds, StatsDClient statsDClient) {
+    this.delegate = delegate;
+    this.timeoutMs = timeoutMs;
+    this.retryAfterSeconds = retryAfterSeconds;
+    this.statsDClient = statsDClient;
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return execute("encode", () -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return execute("matches", () -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  /**
+   * Hashes many passwords in parallel on the hashing pool. At most one task per pool
+   * thread is in flight at a time, so a bulk import waits its turn instead of filling
+   * the queue that interactive logins and signups rely on.
+   */
+  public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+    Semaphore inFlight = new Semaphore(executor.getCorePoolSize());
+    List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+    try {
+      for (CharSequence rawPassword : rawPasswords) {
+        inFlight.acquire();
+        try {
+          futures.add(executor.submit(() -> {
+            try {
+              return delegate.encode(rawPassword);
+            } finally {
+              inFlight.release();
+            }
+          }));
+        } catch (RejectedExecutionException e) {
+          inFlight.release();
+          statsDClient.incrementCounter("password.hash.rejected");
+          throw new HashingCapacityExceededException("Password hashing queue is full.", retryAfterSeconds, e);
+        }
+      }
+
+      List<String> hashes = new ArrayList<>(futures.size());
+      for (Future<String> future : futures) {
+        hashes.add(future.get());
+      }
+      statsDClient.count("password.hash.batch.size", rawPasswords.size());
+      return hashes;
+    } catch (InterruptedException e) {
+      futures.forEach(future -> future.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new HashingCapacityExceededException("Interrupted while waiting for password hashing.",
+          retryAfterSeconds, e);
+    } catch (ExecutionException e) {
+      futures.forEach(future -> future.cancel(true));
+      throw new IllegalStateException("Password hashing failed.", e.getCause());
+    } catch (RuntimeException e) {
+      futures.forEach(future -> future.cancel(true));
+      throw e;
+    }
+  }
+
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private <T> T execute(String operation, Callable<T> task) {
+    long submittedAt = System.nanoTime();
+    Future<T> future;
+    try {
+      future = executor.submit(() -> {
+        long startedAt = System.nanoTime();
+        statsDClient.recordExecutionTime("password.hash.queue.wait", toMillis(startedAt - submittedAt));
+        try {
+          return task.call();
+        } finally {
+          statsDClient.recordExecutionTime("password.hash." + operation + ".latency",
+              toMillis(System.nanoTime() - startedAt));
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      statsDClient.incrementCounter("password.hash.rejected");
+      throw new HashingCapacityExceededException("Password hashing queue is full.", retryAfterSeconds, e);
+    } finally {
+      statsDClient.recordGaugeValue("password.hash.queue.depth", executor.getQueue().size());
+    }
+
+    try {
+      return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      statsDClient.incrementCounter("password.hash.timeout");
+      throw new HashingCapacityExceededException("Password hashing timed out.", retryAfterSeconds, e);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new HashingCapacityExceededException("Interrupted while waiting for password hashing.",
+          retryAfterSeconds, e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException("Password hashing failed.", cause);
+    }
+  }
+
+  private static long toMillis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+}
@@ -0,0 +1,39 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.cloudcomputing.movieRetrievalWebApp.cache.CredentialCache;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * DaoAuthenticationProvider that consults the CredentialCache before running the
+ * password encoder, and records successful checks so repeat requests skip BCrypt.
+ */
+public class CachingDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+  private final CredentialCache credentialCache;
+
+  public CachingDaoAuthenticationProvider(CredentialCache credentialCache) {
+    this.credentialCache = credentialCache;
+  }
+
+  @Override
+  protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                UsernamePasswordAuthenticationToken authentication)
+      throws AuthenticationException {
+    if (authentication.getCredentials() == null) {
+      super.additionalAuthenticationChecks(userDetails, authentication);
+      return;
+    }
+
+    String presentedPassword = authentication.getCredentials().toString();
+    if (credentialCache.isVerified(userDetails.getUsername(), presentedPassword, userDetails.getPassword())) {
+      return;
+    }
+
+    // Throws BadCredentialsException on mismatch, so only verified credentials are cached.
+    super.additionalAuthenticationChecks(userDetails, authentication);
+    credentialCache.markVerified(userDetails.getUsername(), presentedPassword, userDetails.getPassword());
+  }
+}
@@ -1,6 +1,8 @@
 package com.cloudcomputing.movieRetrievalWebApp.config;
 
+import com.cloudcomputing.movieRetrievalWebApp.cache.KnownEmailFilter;
 import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserCredentials;
 import com.cloudcomputing.movieRetrievalWebApp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -8,7 +10,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.Optional;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -16,19 +18,29 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private KnownEmailFilter knownEmailFilter;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userService.getUserByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
-
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmailAddress(),
-                user.getPassword(),
-                true,
-                true,
-                true,
-                true,
-                new ArrayList<>() // No roles/authorities
-        );
+        // Credential-stuffing traffic is mostly unknown addresses; turn those away in memory.
+        if (!knownEmailFilter.mightExist(email)) {
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        }
+
+        // The hash is always read from the credentials projection: the profile cache is
+        // per instance and is not invalidated when another instance changes or deletes the user.
+        Optional<UserCredentials> credentials = userService.getCredentialsByEmail(email);
+        if (credentials.isEmpty()) {
+            knownEmailFilter.recordFalsePositive();
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        }
+
+        // A cached profile that still matches the stored hash is kept for controllers to reuse.
+        UserCredentials current = credentials.get();
+        User cachedUser = userService.getCachedUserByEmail(email)
+            .filter(user -> user.getUserId().equals(current.userId()) && current.password().equals(user.getPassword()))
+            .orElse(null);
+        return new AuthenticatedUser(current, cachedUser);
     }
 }
@@ -0,0 +1,74 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.timgroup.statsd.StatsDClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits reads and writes across two databases when {@code app.datasource.replica.url}
+ * is set: {@code @Transactional(readOnly = true)} work goes to the replica, everything
+ * else to the primary configured under {@code spring.datasource}. Without the property
+ * Boot's single auto-configured DataSource is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+  @Value("${app.datasource.replica.url}")
+  private String replicaUrl;
+
+  @Value("${app.datasource.replica.username:${spring.datasource.username:}}")
+  private String replicaUsername;
+
+  @Value("${app.datasource.replica.password:${spring.datasource.password:}}")
+  private String replicaPassword;
+
+  @Value("${app.datasource.replica.lag-query:}")
+  private String lagQuery;
+
+  @Value("${app.datasource.replica.max-lag-seconds:5}")
+  private long maxLagSeconds;
+
+  @Value("${app.datasource.replica.lag-check-interval-ms:1000}")
+  private long lagCheckIntervalMs;
+
+  // The pools are beans so they are closed on shutdown, but never injected directly.
+  @Bean(autowireCandidate = false)
+  public DataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().build();
+  }
+
+  @Bean(autowireCandidate = false)
+  public DataSource replicaDataSource() {
+    // The driver is derived from the JDBC URL.
+    return DataSourceBuilder.create()
+        .url(replicaUrl)
+        .username(replicaUsername)
+        .password(replicaPassword)
+        .build();
+  }
+
+  @Bean(initMethod = "start", destroyMethod = "shutdown")
+  public ReplicaLagMonitor replicaLagMonitor(StatsDClient metricClient) {
+    return new ReplicaLagMonitor(replicaDataSource(), lagQuery, maxLagSeconds, lagCheckIntervalMs,
+        metricClient);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(DataSourceProperties properties, StatsDClient metricClient) {
+    ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource(properties),
+        replicaDataSource(), replicaLagMonitor(metricClient), metricClient);
+    // Defer fetching a physical connection until the first statement, by which point
+    // the transaction's read-only flag is known.
+    return new LazyConnectionDataSourceProxy(routing);
+  }
+}
@@ -0,0 +1,19 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+/**
+ * Thrown when the password hashing pool cannot take more work. Mapped to
+ * 503 Service Unavailable with a Retry-After header by HashingCapacityFilter.
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+
+  private final long retryAfterSeconds;
+
+  public HashingCapacityExceededException(String message, long retryAfterSeconds, Throwable cause) {
+    super(message, cause);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
@@ -0,0 +1,54 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * Outermost filter that turns a HashingCapacityExceededException, whether raised
+ * during authentication or inside a controller, into 503 with Retry-After.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class HashingCapacityFilter extends OncePerRequestFilter {
+
+  private static final Logger LOGGER = Logger.getLogger(HashingCapacityFilter.class.getName());
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    try {
+      filterChain.doFilter(request, response);
+    } catch (ServletException | RuntimeException e) {
+      HashingCapacityExceededException capacityException = findCapacityException(e);
+      if (capacityException == null || response.isCommitted()) {
+        throw e;
+      }
+      LOGGER.warning("Password hashing capacity exceeded. ##HttpStatus.SERVICE_UNAVAILABLE sent in response## ");
+      response.resetBuffer();
+      response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(capacityException.getRetryAfterSeconds()));
+      response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
+      response.setHeader("Pragma", "no-cache");
+      response.setHeader("X-Content-Type-Options", "no-sniff");
+    }
+  }
+
+  private static HashingCapacityExceededException findCapacityException(Throwable throwable) {
+    for (Throwable current = throwable; current != null; current = current.getCause()) {
+      if (current instanceof HashingCapacityExceededException capacityException) {
+        return capacityException;
+      }
+    }
+    return null;
+  }
+}
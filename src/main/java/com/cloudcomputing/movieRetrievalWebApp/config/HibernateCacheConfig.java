@@ -0,0 +1,68 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enables Hibernate's second-level cache on a Caffeine-backed JCache provider.
+ * The User entity region and its email natural-id region are created here so their
+ * size, expiry and statistics are configurable; anything Hibernate asks for beyond
+ * these falls back to the provider defaults.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+  @Value("${app.cache.hibernate.users.maximum-size:10000}")
+  private long maximumSize;
+
+  @Value("${app.cache.hibernate.users.ttl-seconds:600}")
+  private long ttlSeconds;
+
+  @Value("${app.cache.hibernate.statistics:false}")
+  private boolean statistics;
+
+  // Each application context opens its own manager under a unique URI and closes it on
+  // shutdown. The provider's default manager is JVM-wide, so a second context (e.g. another
+  // test configuration) would otherwise fail creating regions that already exist.
+  @Bean(destroyMethod = "close")
+  public CacheManager hibernateCacheManager() {
+    CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    CacheManager cacheManager = provider.getCacheManager(
+        URI.create("urn:hibernate-l2:" + UUID.randomUUID()), HibernateCacheConfig.class.getClassLoader());
+    cacheManager.createCache(User.CACHE_REGION, regionConfiguration());
+    cacheManager.createCache(User.NATURAL_ID_CACHE_REGION, regionConfiguration());
+    return cacheManager;
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+    return properties -> {
+      properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+      properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+      properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+    };
+  }
+
+  private CaffeineConfiguration<Object, Object> regionConfiguration() {
+    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+    configuration.setMaximumSize(OptionalLong.of(maximumSize));
+    configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+    configuration.setStatisticsEnabled(statistics);
+    return configuration;
+  }
+}
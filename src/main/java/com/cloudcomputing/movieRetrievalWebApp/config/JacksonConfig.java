@@ -0,0 +1,17 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+  // Request bodies bind straight into DTOs, so an unexpected property must fail the parse
+  // (and the request, with 400) instead of being silently dropped as Boot does by default.
+  @Bean
+  public Jackson2ObjectMapperBuilderCustomizer strictRequestBinding() {
+    return builder -> builder.featuresToEnable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  }
+}
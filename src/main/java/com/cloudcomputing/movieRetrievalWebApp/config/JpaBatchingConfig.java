@@ -0,0 +1,28 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Groups INSERT/UPDATE statements into JDBC batches so bulk imports flush in a few
+ * round trips. On MySQL, add {@code rewriteBatchedStatements=true} to the JDBC URL
+ * so the driver sends each batch as one multi-row statement.
+ */
+@Configuration
+public class JpaBatchingConfig {
+
+  @Value("${app.jpa.batch-size:50}")
+  private int batchSize;
+
+  @Bean
+  public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+    return properties -> {
+      properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+      properties.put(AvailableSettings.ORDER_INSERTS, true);
+      properties.put(AvailableSettings.ORDER_UPDATES, true);
+    };
+  }
+}
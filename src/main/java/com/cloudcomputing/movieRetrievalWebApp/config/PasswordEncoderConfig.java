@@ -1,5 +1,7 @@
 package com.cloudcomputing.movieRetrievalWebApp.config;
 
+import com.timgroup.statsd.StatsDClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -8,8 +10,23 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class PasswordEncoderConfig {
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Value("${app.hashing.pool-size:0}")
+    private int poolSize;
+
+    @Value("${app.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${app.hashing.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    // BCrypt runs on a bounded pool; by default half the cores, leaving headroom for cheap requests.
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(StatsDClient metricClient) {
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, timeoutMs,
+                retryAfterSeconds, metricClient);
     }
 }
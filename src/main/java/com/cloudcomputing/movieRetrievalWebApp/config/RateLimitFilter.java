@@ -0,0 +1,71 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Applies RequestRateLimiter ahead of authentication. Requests are keyed by client IP
+ * and, when they carry Basic credentials, by the account email, so neither a single
+ * client nor a distributed attack on one account can make us spend unbounded BCrypt
+ * time or database lookups. Over-limit requests get 429 with Retry-After.
+ *
+ * The client IP is the servlet remote address; behind a load balancer, set
+ * server.forward-headers-strategy so it reflects the original client.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private static final Logger LOGGER = Logger.getLogger(RateLimitFilter.class.getName());
+  private static final String BASIC_PREFIX = "Basic ";
+
+  private final RequestRateLimiter rateLimiter;
+
+  public RateLimitFilter(RequestRateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    long waitNanos = rateLimiter.tryAcquire(request.getRemoteAddr(), basicUsername(request));
+    if (waitNanos == 0) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    LOGGER.warning("Rate limit exceeded. ##HttpStatus.TOO_MANY_REQUESTS sent in response## ");
+    long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    response.setStatus(429);
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
+    response.setHeader("Pragma", "no-cache");
+    response.setHeader("X-Content-Type-Options", "no-sniff");
+  }
+
+  // Only the username is needed, and it is not verified here: a bucket for an
+  // arbitrary name costs an attacker their own IP budget.
+  private static String basicUsername(HttpServletRequest request) {
+    String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+    if (authorization == null || !authorization.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+      return null;
+    }
+    try {
+      String decoded = new String(Base64.getDecoder().decode(authorization.substring(BASIC_PREFIX.length()).trim()),
+          StandardCharsets.UTF_8);
+      int separator = decoded.indexOf(':');
+      return separator < 0 ? null : decoded.substring(0, separator).toLowerCase(Locale.ROOT);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
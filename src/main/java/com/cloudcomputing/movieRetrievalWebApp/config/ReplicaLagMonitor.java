@@ -0,0 +1,99 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.timgroup.statsd.StatsDClient;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Periodically measures how far the read replica trails the primary and decides
+ * whether read-only traffic may be served from it. Until the first successful probe,
+ * and whenever the replica is unreachable or too far behind, reads stay on the primary.
+ *
+ * Lag comes from {@code lagQuery} when set (a query returning seconds behind as a
+ * number); otherwise from {@code Seconds_Behind_Source} in MySQL's
+ * {@code SHOW REPLICA STATUS}.
+ */
+public class ReplicaLagMonitor {
+
+  private static final Logger LOGGER = Logger.getLogger(ReplicaLagMonitor.class.getName());
+
+  private final JdbcTemplate replicaJdbcTemplate;
+  private final String lagQuery;
+  private final long maxLagSeconds;
+  private final long checkIntervalMs;
+  private final StatsDClient statsDClient;
+  private final ScheduledExecutorService scheduler;
+
+  private volatile boolean replicaUsable;
+
+  public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagSeconds, long checkIntervalMs,
+                           StatsDClient statsDClient) {
+    this.replicaJdbcTemplate = new JdbcTemplate(replica);
+    this.lagQuery = lagQuery;
+    this.maxLagSeconds = maxLagSeconds;
+    this.checkIntervalMs = checkIntervalMs;
+    this.statsDClient = statsDClient;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "replica-lag-monitor");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public void start() {
+    scheduler.scheduleWithFixedDelay(this::refresh, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  public boolean isReplicaUsable() {
+    return replicaUsable;
+  }
+
+  void refresh() {
+    boolean usable;
+    try {
+      Long lagSeconds = measureLagSeconds();
+      if (lagSeconds == null) {
+        // Replication threads are stopped; the replica is not converging.
+        statsDClient.gauge("datasource.replica.lag", -1);
+        usable = false;
+      } else {
+        statsDClient.gauge("datasource.replica.lag", lagSeconds);
+        usable = lagSeconds <= maxLagSeconds;
+      }
+    } catch (DataAccessException e) {
+      LOGGER.warning("Replica lag probe failed: " + e.getMessage());
+      usable = false;
+    }
+
+    if (usable != replicaUsable) {
+      LOGGER.info(usable ? "Read replica is in sync; routing reads to it."
+          : "Read replica unavailable or lagging; routing reads to the primary.");
+    }
+    replicaUsable = usable;
+    statsDClient.gauge("datasource.replica.usable", usable ? 1 : 0);
+  }
+
+  private Long measureLagSeconds() {
+    if (lagQuery != null && !lagQuery.isBlank()) {
+      return replicaJdbcTemplate.queryForObject(lagQuery, Long.class);
+    }
+    return replicaJdbcTemplate.query("SHOW REPLICA STATUS", rs -> {
+      if (!rs.next()) {
+        // Not a binlog replica (e.g. a cluster reader endpoint sharing storage): no lag to report.
+        return 0L;
+      }
+      long lag = rs.getLong("Seconds_Behind_Source");
+      return rs.wasNull() ? null : lag;
+    });
+  }
+}
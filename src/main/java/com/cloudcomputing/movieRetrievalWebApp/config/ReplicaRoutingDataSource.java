@@ -0,0 +1,45 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.timgroup.statsd.StatsDClient;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes connections for read-only transactions to the replica and everything else
+ * to the primary. Falls back to the primary while ReplicaLagMonitor reports the
+ * replica as unusable. Must sit behind a LazyConnectionDataSourceProxy so the
+ * routing decision is made after the transaction's read-only flag is set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  enum Route { PRIMARY, REPLICA }
+
+  private final ReplicaLagMonitor lagMonitor;
+  private final StatsDClient statsDClient;
+
+  public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                  StatsDClient statsDClient) {
+    this.lagMonitor = lagMonitor;
+    this.statsDClient = statsDClient;
+    setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      statsDClient.incrementCounter("datasource.route.primary");
+      return Route.PRIMARY;
+    }
+    if (!lagMonitor.isReplicaUsable()) {
+      statsDClient.incrementCounter("datasource.route.replica_fallback");
+      return Route.PRIMARY;
+    }
+    statsDClient.incrementCounter("datasource.route.replica");
+    return Route.REPLICA;
+  }
+}
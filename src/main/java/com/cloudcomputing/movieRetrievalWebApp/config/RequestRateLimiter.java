@@ -0,0 +1,99 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.timgroup.statsd.StatsDClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket limits per client IP and per account, applied before any password is
+ * hashed or user looked up. Each bucket is one AtomicLong holding the GCRA
+ * "theoretical arrival time", updated with compare-and-set, so concurrent requests
+ * never block one another. Buckets live in Caffeine caches and are evicted once idle
+ * long enough to have refilled completely, when dropping them changes nothing.
+ */
+@Component
+public class RequestRateLimiter {
+
+  private final Limit ipLimit;
+  private final Limit accountLimit;
+  private final StatsDClient statsDClient;
+
+  @Autowired
+  public RequestRateLimiter(@Value("${app.ratelimit.ip.requests-per-second:50}") double ipRate,
+                            @Value("${app.ratelimit.ip.burst:200}") int ipBurst,
+                            @Value("${app.ratelimit.account.requests-per-second:10}") double accountRate,
+                            @Value("${app.ratelimit.account.burst:20}") int accountBurst,
+                            @Value("${app.ratelimit.maximum-keys:100000}") long maximumKeys,
+                            StatsDClient statsDClient) {
+    this.ipLimit = new Limit(ipRate, ipBurst, maximumKeys);
+    this.accountLimit = new Limit(accountRate, accountBurst, maximumKeys);
+    this.statsDClient = statsDClient;
+  }
+
+  /**
+   * Takes one token from the IP bucket and, when {@code account} is known, from the
+   * account bucket.
+   *
+   * @return 0 if the request may proceed, otherwise the nanoseconds to wait before retrying.
+   */
+  public long tryAcquire(String clientIp, String account) {
+    long now = System.nanoTime();
+    long ipWait = ipLimit.tryAcquire(clientIp, now);
+    if (ipWait > 0) {
+      statsDClient.incrementCounter("ratelimit.rejected.ip");
+      return ipWait;
+    }
+    if (account == null) {
+      return 0;
+    }
+    long accountWait = accountLimit.tryAcquire(account, now);
+    if (accountWait > 0) {
+      statsDClient.incrementCounter("ratelimit.rejected.account");
+    }
+    return accountWait;
+  }
+
+  private static final class Limit {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    private Limit(double requestsPerSecond, int burst, long maximumKeys) {
+      if (requestsPerSecond <= 0 || burst < 1) {
+        throw new IllegalArgumentException("Rate limits must be positive.");
+      }
+      this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+      this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+      this.buckets = Caffeine.newBuilder()
+          .maximumSize(maximumKeys)
+          .expireAfterAccess(Duration.ofNanos(Math.max(TimeUnit.SECONDS.toNanos(1),
+              burstToleranceNanos + emissionIntervalNanos)))
+          .build();
+    }
+
+    // GCRA: a request is allowed unless it arrives more than the burst tolerance ahead of
+    // the bucket's theoretical arrival time; each allowed request pushes that time forward
+    // by one emission interval.
+    private long tryAcquire(String key, long now) {
+      AtomicLong theoreticalArrival = buckets.get(key, k -> new AtomicLong(now));
+      while (true) {
+        long current = theoreticalArrival.get();
+        long allowedAt = current - burstToleranceNanos;
+        if (now - allowedAt < 0) {
+          return allowedAt - now;
+        }
+        long next = Math.max(current, now) + emissionIntervalNanos;
+        if (theoreticalArrival.compareAndSet(current, next)) {
+          return 0;
+        }
+      }
+    }
+  }
+}
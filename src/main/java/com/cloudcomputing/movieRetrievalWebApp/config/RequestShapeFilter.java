@@ -0,0 +1,157 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.timgroup.statsd.StatsDClient;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Rejects requests whose shape a route does not accept (query parameters, or anything but
+ * an empty JSON object on a route that takes one) with 400, before the DispatcherServlet
+ * parses multipart or JSON content and before any credential check, controller or S3
+ * work. Routes without a rule pass through. The rules reproduce what the handlers used
+ * to check themselves, so moving the checks here does not change any response.
+ *
+ * Only the raw query string is inspected: asking for the parameter map would make the
+ * container parse form and multipart bodies to merge their fields in.
+ */
+public class RequestShapeFilter extends OncePerRequestFilter {
+
+  private static final Logger LOGGER = Logger.getLogger(RequestShapeFilter.class.getName());
+
+  // Anything longer than this cannot be an empty JSON object and is rejected unread.
+  private static final int MAX_EMPTY_BODY_BYTES = 64;
+
+  // The content types the Jackson converter reads, which the old @RequestBody Map required.
+  private static final MediaType JSON_SUFFIX = new MediaType("application", "*+json");
+
+  /**
+   * What one method and path accepts.
+   *
+   * @param method            HTTP method the rule applies to.
+   * @param path              Exact request path, without the context path.
+   * @param emptyObjectBody   Whether the body must be exactly an empty JSON object sent
+   *                          as JSON; otherwise the body is left to the controller.
+   */
+  public record Rule(String method, String path, boolean emptyObjectBody) {
+  }
+
+  // None of the /v1/user routes take query parameters. The image GET and DELETE handlers
+  // used to bind a required @RequestBody Map and reject any field, so they accept {} and
+  // nothing else; the other handlers ignore or bind their bodies themselves.
+  public static final List<Rule> USER_ROUTES = List.of(
+      new Rule("POST", "/v1/user", false),
+      new Rule("POST", "/v1/user/batch", false),
+      new Rule("GET", "/v1/user/self", false),
+      new Rule("PUT", "/v1/user/self", false),
+      new Rule("POST", "/v1/user/self/token", false),
+      new Rule("POST", "/v1/user/self/pic", false),
+      new Rule("GET", "/v1/user/self/pic", true),
+      new Rule("DELETE", "/v1/user/self/pic", true));
+
+  private final Map<String, Rule> rules;
+  private final StatsDClient statsDClient;
+
+  public RequestShapeFilter(List<Rule> rules, StatsDClient statsDClient) {
+    this.rules = rules.stream().collect(Collectors.toUnmodifiableMap(
+        rule -> key(rule.method(), rule.path()), Function.identity()));
+    this.statsDClient = statsDClient;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    Rule rule = rules.get(key(request.getMethod(), request.getRequestURI().substring(request.getContextPath().length())));
+    if (rule == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    String queryString = request.getQueryString();
+    if (queryString != null && !queryString.isEmpty()) {
+      LOGGER.warning("Query parameters are not allowed in this request. ##HttpStatus.BAD_REQUEST sent in response## ");
+      statsDClient.incrementCounter("request.rejected.query_params");
+      reject(response);
+      return;
+    }
+
+    if (rule.emptyObjectBody() && !(isJson(request.getContentType()) && isEmptyObject(request))) {
+      LOGGER.warning("Request body must be an empty JSON object. ##HttpStatus.BAD_REQUEST sent in response## ");
+      statsDClient.incrementCounter("request.rejected.body");
+      reject(response);
+      return;
+    }
+
+    filterChain.doFilter(request, response);
+  }
+
+  private static boolean isJson(String contentType) {
+    if (contentType == null) {
+      return false;
+    }
+    try {
+      MediaType mediaType = MediaType.parseMediaType(contentType);
+      return MediaType.APPLICATION_JSON.includes(mediaType) || JSON_SUFFIX.includes(mediaType);
+    } catch (InvalidMediaTypeException e) {
+      return false;
+    }
+  }
+
+  // Reads at most MAX_EMPTY_BODY_BYTES + 1 bytes; the body is consumed, which is fine
+  // because the routes that use this ignore it once it has passed.
+  private static boolean isEmptyObject(HttpServletRequest request) throws IOException {
+    if (request.getContentLengthLong() > MAX_EMPTY_BODY_BYTES) {
+      return false;
+    }
+    byte[] body;
+    try (InputStream in = request.getInputStream()) {
+      body = in.readNBytes(MAX_EMPTY_BODY_BYTES + 1);
+    }
+    if (body.length > MAX_EMPTY_BODY_BYTES) {
+      return false;
+    }
+
+    // Accept a single "{}", with whitespace around and inside it. An empty body is rejected,
+    // as a missing required body was.
+    int i = skipWhitespace(body, 0);
+    if (i == body.length || body[i] != '{') {
+      return false;
+    }
+    i = skipWhitespace(body, i + 1);
+    if (i == body.length || body[i] != '}') {
+      return false;
+    }
+    return skipWhitespace(body, i + 1) == body.length;
+  }
+
+  private static int skipWhitespace(byte[] body, int from) {
+    int i = from;
+    while (i < body.length && (body[i] == ' ' || body[i] == '\t' || body[i] == '\r' || body[i] == '\n')) {
+      i++;
+    }
+    return i;
+  }
+
+  private static String key(String method, String path) {
+    return method + ' ' + path;
+  }
+
+  private static void reject(HttpServletResponse response) {
+    response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+    response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
+    response.setHeader("Pragma", "no-cache");
+    response.setHeader("X-Content-Type-Options", "no-sniff");
+  }
+}
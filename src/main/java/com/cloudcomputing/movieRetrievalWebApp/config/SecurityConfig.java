@@ -1,14 +1,25 @@
 package com.cloudcomputing.movieRetrievalWebApp.config;
 
+import com.cloudcomputing.movieRetrievalWebApp.cache.CredentialCache;
+import com.timgroup.statsd.StatsDClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Configuration
 @EnableWebSecurity
@@ -16,11 +27,27 @@ public class SecurityConfig {
 
   private final CustomUserDetailsService customUserDetailsService;
   private final PasswordEncoder passwordEncoder;
+  private final CredentialCache credentialCache;
+  private final AccessTokenService accessTokenService;
+  private final RequestRateLimiter requestRateLimiter;
+  private final StatsDClient statsDClient;
+  private final Set<String> adminEmails;
 
   @Autowired
-  public SecurityConfig(CustomUserDetailsService customUserDetailsService, PasswordEncoder passwordEncoder) {
+  public SecurityConfig(CustomUserDetailsService customUserDetailsService, PasswordEncoder passwordEncoder,
+                        CredentialCache credentialCache, AccessTokenService accessTokenService,
+                        RequestRateLimiter requestRateLimiter, StatsDClient statsDClient,
+                        @Value("${app.security.admin-emails:}") String adminEmails) {
     this.customUserDetailsService = customUserDetailsService;
     this.passwordEncoder = passwordEncoder;
+    this.credentialCache = credentialCache;
+    this.accessTokenService = accessTokenService;
+    this.requestRateLimiter = requestRateLimiter;
+    this.statsDClient = statsDClient;
+    this.adminEmails = Arrays.stream(adminEmails.split(","))
+        .map(String::trim)
+        .filter(email -> !email.isEmpty())
+        .collect(Collectors.toUnmodifiableSet());
   }
 
   @Bean
@@ -28,18 +55,40 @@ public class SecurityConfig {
     http.csrf(csrf -> csrf.disable())
         .authorizeHttpRequests(auth -> auth
             .requestMatchers("/v1/user/self/**").authenticated()
-            .requestMatchers("/healthz", "/v1/users/**").permitAll()
-            .requestMatchers("/").permitAll()
+            .requestMatchers("/v1/user/batch", "/v1/admin/**").access((authentication, context) ->
+                new AuthorizationDecision(isAdmin(authentication.get())))
+            .requestMatchers("/v1/users/**").permitAll()
             .anyRequest().permitAll())
+        // Filters added before the same filter run in the order they are added.
+        // Throttle before any credential is checked, so rejected requests cost no hashing or lookups.
+        .addFilterBefore(new RateLimitFilter(requestRateLimiter), BasicAuthenticationFilter.class)
+        // Reject malformed /v1/user requests before token or BCrypt checks and before bodies are parsed.
+        .addFilterBefore(new RequestShapeFilter(RequestShapeFilter.USER_ROUTES, statsDClient), BasicAuthenticationFilter.class)
+        // Bearer tokens are checked by signature alone; Basic auth remains the fallback.
+        .addFilterBefore(new AccessTokenAuthenticationFilter(accessTokenService), BasicAuthenticationFilter.class)
         .httpBasic();
 
     return http.build();
   }
 
-  // Configure AuthenticationManager to use the UserDetailsService
+  // Load-balancer probes (/healthz) and the root endpoint need no authentication, session or
+  // security headers, so they skip the filter chain entirely instead of going through permitAll().
+  @Bean
+  public WebSecurityCustomizer unauthenticatedEndpointsBypass() {
+    return web -> web.ignoring().requestMatchers("/healthz", "/");
+  }
+
+  // Admin endpoints are open to the accounts listed in app.security.admin-emails.
+  private boolean isAdmin(Authentication authentication) {
+    return authentication != null && authentication.isAuthenticated()
+        && !(authentication instanceof AnonymousAuthenticationToken)
+        && adminEmails.contains(authentication.getName());
+  }
+
+  // Configure AuthenticationManager to use the UserDetailsService, skipping BCrypt for recently verified credentials
   @Autowired
   public void globalUserDetails(AuthenticationManagerBuilder auth) throws Exception {
-    DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+    CachingDaoAuthenticationProvider provider = new CachingDaoAuthenticationProvider(credentialCache);
     provider.setUserDetailsService(customUserDetailsService);
     provider.setPasswordEncoder(passwordEncoder);
     auth.authenticationProvider(provider);
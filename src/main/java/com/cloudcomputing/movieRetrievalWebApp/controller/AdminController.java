@@ -0,0 +1,180 @@
+package com.cloudcomputing.movieRetrievalWebApp.controller;
+
+import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserChangeDTO;
+import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserChangesResponseDTO;
+import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserPageResponseDTO;
+import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserResponseDTO;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserChange;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserChangeCursor;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserSummary;
+import com.cloudcomputing.movieRetrievalWebApp.service.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * AdminController exposes operator-only views over all users: a keyset-paginated
+ * listing, a streaming JSON export and an incremental change feed. Access is
+ * restricted in SecurityConfig.
+ */
+@RestController
+@RequestMapping("/v1/admin/users")
+public class AdminController {
+
+  private static final Logger LOGGER = Logger.getLogger(AdminController.class.getName());
+
+  private static final int MAX_PAGE_SIZE = 1000;
+
+  @Autowired
+  private UserService userService;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Value("${app.admin.export.fetch-size:1000}")
+  private int exportFetchSize = 1000;
+
+  /**
+   * Returns one page of users ordered by id. Pass the previous page's next_cursor as
+   * {@code after} to continue; the lookup seeks on the primary key, so every page
+   * costs the same regardless of depth.
+   *
+   * @param limit Page size, 1 to 1000.
+   * @param after Cursor from the previous page, or absent for the first page.
+   * @return ResponseEntity containing the UserPageResponseDTO and HTTP status.
+   */
+  @GetMapping
+  public ResponseEntity<UserPageResponseDTO> listUsers(@RequestParam(defaultValue = "100") int limit,
+                                                       @RequestParam(required = false) UUID after) {
+    LOGGER.info("Admin user listing requested.");
+
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      LOGGER.warning("Invalid page size: " + limit);
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+
+    List<UserSummary> page = userService.getUserPage(after, limit);
+    List<UserResponseDTO> users = page.stream().map(AdminController::toResponse).toList();
+    // A short page means there is nothing after it.
+    UUID nextCursor = page.size() == limit ? page.get(page.size() - 1).userId() : null;
+
+    return ResponseEntity.ok()
+        .header("Cache-Control", "no-cache", "no-store", "must-revalidate")
+        .header("Pragma", "no-cache")
+        .header("X-Content-Type-Options", "no-sniff")
+        .body(new UserPageResponseDTO(users, nextCursor));
+  }
+
+  /**
+   * Streams every user as one JSON array. Rows are read through a JDBC cursor and
+   * written to the response as they arrive, so heap use does not grow with the table.
+   *
+   * @return ResponseEntity wrapping the streaming body.
+   */
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportUsers() {
+    LOGGER.info("Admin user export requested.");
+
+    StreamingResponseBody body = outputStream -> {
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+        generator.writeStartArray();
+        userService.exportUsers(exportFetchSize, user -> writeUser(generator, user));
+        generator.writeEndArray();
+      }
+    };
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .header("Cache-Control", "no-cache", "no-store", "must-revalidate")
+        .header("Pragma", "no-cache")
+        .header("X-Content-Type-Options", "no-sniff")
+        .body(body);
+  }
+
+  /**
+   * Returns users created, updated or deleted after {@code cursor}, oldest first.
+   * Consumers store next_cursor and send it on their next pull, so each sync only
+   * reads what changed since the last one; keep pulling while has_more is true.
+   *
+   * @param cursor Token from a previous response, or absent to start from the beginning.
+   * @param limit  Page size, 1 to 1000.
+   * @return ResponseEntity containing the UserChangesResponseDTO and HTTP status.
+   */
+  @GetMapping("/changes")
+  public ResponseEntity<UserChangesResponseDTO> listChanges(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "100") int limit) {
+    LOGGER.info("Admin user change feed requested.");
+
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      LOGGER.warning("Invalid page size: " + limit);
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+
+    UserChangeCursor from;
+    try {
+      from = cursor == null ? UserChangeCursor.START : UserChangeCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      LOGGER.warning("Invalid change cursor: " + e.getMessage());
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+
+    List<UserChange> page = userService.getUserChanges(from, limit);
+    List<UserChangeDTO> changes = page.stream().map(AdminController::toChange).toList();
+    // An empty page hands the same cursor back, so consumers can always store next_cursor.
+    UserChangeCursor next = page.isEmpty() ? from : page.get(page.size() - 1).cursor();
+
+    return ResponseEntity.ok()
+        .header("Cache-Control", "no-cache", "no-store", "must-revalidate")
+        .header("Pragma", "no-cache")
+        .header("X-Content-Type-Options", "no-sniff")
+        .body(new UserChangesResponseDTO(changes, next.encode(), page.size() == limit));
+  }
+
+  private static void writeUser(JsonGenerator generator, UserSummary user) {
+    try {
+      generator.writeStartObject();
+      generator.writeStringField("id", user.userId().toString());
+      generator.writeStringField("first_name", user.firstName());
+      generator.writeStringField("last_name", user.lastName());
+      generator.writeStringField("email", user.emailAddress());
+      generator.writeStringField("account_created", user.accountCreated().toString());
+      generator.writeStringField("account_updated", user.accountUpdated().toString());
+      generator.writeEndObject();
+    } catch (IOException e) {
+      // Client went away mid-export; abort the cursor.
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static UserResponseDTO toResponse(UserSummary user) {
+    UserResponseDTO userResponseDTO = new UserResponseDTO();
+    userResponseDTO.setId(user.userId());
+    userResponseDTO.setFirst_name(user.firstName());
+    userResponseDTO.setLast_name(user.lastName());
+    userResponseDTO.setEmail(user.emailAddress());
+    userResponseDTO.setAccount_created(user.accountCreated().toString());
+    userResponseDTO.setAccount_updated(user.accountUpdated().toString());
+    return userResponseDTO;
+  }
+
+  private static UserChangeDTO toChange(UserChange change) {
+    UserResponseDTO user = change.user() == null ? null : toResponse(change.user());
+    return new UserChangeDTO(change.type().name(), change.userId(), change.emailAddress(),
+        change.changedAt().toString(), user);
+  }
+}
@@ -1,10 +1,14 @@
 package com.cloudcomputing.movieRetrievalWebApp.controller;
 
+import java.security.Principal;
 import java.util.Optional;
-import java.util.regex.Pattern;
 
 import java.util.logging.Logger;
 
+import org.springframework.security.core.Authentication;
+
+import com.cloudcomputing.movieRetrievalWebApp.config.AccessTokenClaims;
+import com.cloudcomputing.movieRetrievalWebApp.config.AuthenticatedUser;
 import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserCreateDTO;
 import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserResponseDTO;
 import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserUpdateDTO;
@@ -55,6 +59,28 @@ public class ControllerUtils {
     return existingUser;
   }
 
+  /**
+   * Resolves the User behind the authenticated principal. When authentication
+   * already had the user in memory, it is reused; credential-only and bearer-token
+   * principals are resolved by userId, and anything else is looked up by email.
+   *
+   * @param userService The UserService used as a fallback lookup.
+   * @param principal   Security principal of the current request.
+   * @return Optional<User> containing the authenticated user if found.
+   */
+  public static Optional<User> getAuthenticatedUser(UserService userService, Principal principal) {
+    if (principal instanceof Authentication authentication) {
+      if (authentication.getPrincipal() instanceof AuthenticatedUser authenticatedUser) {
+        Optional<User> user = authenticatedUser.getUser();
+        return user.isPresent() ? user : userService.getUserById(authenticatedUser.getUserId());
+      }
+      if (authentication.getPrincipal() instanceof AccessTokenClaims claims) {
+        return userService.getUserById(claims.getUserId());
+      }
+    }
+    return getExsistingUser(userService, principal.getName());
+  }
+
   /**
    * Constructs a UserResponseDTO object from a given User.
    *
@@ -77,34 +103,6 @@ public class ControllerUtils {
     return userResponseDTO;
   }
 
-  /**
-   * Validates the email format and password of a UserCreateDTO object.
-   *
-   * @param userCreateDTO The DTO containing user data to validate.
-   * @return Boolean indicating whether the email and password are valid.
-   */
-  public static Boolean validateEmailPassword(UserCreateDTO userCreateDTO) {
-    // Regular expression for validating email format.
-    String emailRegex = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$";
-    Pattern pattern = Pattern.compile(emailRegex);
-
-    // Check if the email matches the valid pattern.
-    if (!pattern.matcher(userCreateDTO.getEmailAddress()).matches()) {
-      LOGGER.warning("Invalid email format: " + userCreateDTO.getEmailAddress());
-      return false;
-    } else {
-      LOGGER.info("Valid email provided: " + userCreateDTO.getEmailAddress());
-
-      // Check if the password is provided and is not empty.
-      if (userCreateDTO.getPassword() == null || userCreateDTO.getPassword().isEmpty()) {
-        LOGGER.warning("Missing password for user: " + userCreateDTO.getEmailAddress());
-        return false;
-      }
-      LOGGER.info("Valid password provided");
-      return true;
-    }
-  }
-
   /**
    * Creates a new User object from a UserCreateDTO.
    *
@@ -112,52 +110,31 @@ public class ControllerUtils {
    * @return User object that represents the newly created user.
    */
   public static User createUser(UserCreateDTO userCreateDTO) {
-    // Instantiate a new User and set its properties.
-    User newUser = new User();
-    newUser.setEmailAddress(userCreateDTO.getEmailAddress());
-    newUser.setPassword(userCreateDTO.getPassword());
-    newUser.setFirstName(userCreateDTO.getFirstName());
-    newUser.setLastName(userCreateDTO.getLastName());
+    // The creating constructor assigns the id and creation timestamps.
+    User newUser = new User(userCreateDTO.getEmailAddress(), userCreateDTO.getPassword(),
+        userCreateDTO.getFirstName(), userCreateDTO.getLastName());
 
     LOGGER.info("New User Obj created: " + newUser);
     return newUser;
   }
 
   /**
-   * Updates an existing User object with data from a UserUpdateDTO.
+   * Builds a partial update from a UserUpdateDTO. Only the fields present in the
+   * request are set; absent fields stay null and are left untouched on save.
    *
-   * @param userService   The UserService to retrieve the existing user.
    * @param userUpdateDTO DTO containing the updated user data.
-   * @param email         The email of the user to update.
-   * @return User object with updated information.
+   * @return User object carrying only the fields to change.
    */
-  public static User updateUser(UserService userService, UserUpdateDTO userUpdateDTO, String email) {
-    // Retrieve the existing user using the service.
-    Optional<User> existingUserInfo = getExsistingUser(userService, email);
-    User existingUser = existingUserInfo.get();
-    User updatedUserInfo = new User();
-
-    // Update first name if provided, otherwise retain the existing one.
-    if (userUpdateDTO.getFirstName() != null && !userUpdateDTO.getFirstName().isEmpty()) {
-      updatedUserInfo.setFirstName(userUpdateDTO.getFirstName());
-    } else {
-      updatedUserInfo.setFirstName(existingUser.getFirstName());
-    }
-
-    // Update last name if provided, otherwise retain the existing one.
-    if (userUpdateDTO.getLastName() != null && !userUpdateDTO.getLastName().isEmpty()) {
-      updatedUserInfo.setLastName(userUpdateDTO.getLastName());
-    } else {
-      updatedUserInfo.setLastName(existingUser.getLastName());
-    }
-
-    // Update password if provided, otherwise retain the existing one.
-    if (userUpdateDTO.getPassword() != null && !userUpdateDTO.getPassword().isEmpty()) {
-      updatedUserInfo.setPassword(userUpdateDTO.getPassword());
-    } else {
-      updatedUserInfo.setPassword(existingUser.getPassword());
-    }
+  public static User updateUser(UserUpdateDTO userUpdateDTO) {
+    User changes = new User();
+    changes.setFirstName(presentOrNull(userUpdateDTO.getFirstName()));
+    changes.setLastName(presentOrNull(userUpdateDTO.getLastName()));
+    // The new password stays plaintext here; UserService hashes it only if it is present.
+    changes.setPassword(presentOrNull(userUpdateDTO.getPassword()));
+    return changes;
+  }
 
-    return updatedUserInfo;
+  private static String presentOrNull(String value) {
+    return value == null || value.isEmpty() ? null : value;
   }
-}
\ No newline at end of file
+}
@@ -1,25 +1,42 @@
 package com.cloudcomputing.movieRetrievalWebApp.controller;
 
+import com.cloudcomputing.movieRetrievalWebApp.cache.UserResponseCache;
+import com.cloudcomputing.movieRetrievalWebApp.config.AccessTokenClaims;
+import com.cloudcomputing.movieRetrievalWebApp.config.AccessTokenService;
 import com.cloudcomputing.movieRetrievalWebApp.dto.imagedto.ImageResponseDTO;
+import com.cloudcomputing.movieRetrievalWebApp.dto.tokendto.AccessTokenResponseDTO;
+import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserBatchResultDTO;
 import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserCreateDTO;
 import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserResponseDTO;
 import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserUpdateDTO;
 import com.cloudcomputing.movieRetrievalWebApp.model.User;
 import com.cloudcomputing.movieRetrievalWebApp.service.ImageService;
+import com.cloudcomputing.movieRetrievalWebApp.service.UserImportResult;
 import com.cloudcomputing.movieRetrievalWebApp.service.UserService;
+import com.cloudcomputing.movieRetrievalWebApp.validation.UserRequestValidator;
+import com.cloudcomputing.movieRetrievalWebApp.validation.ValidationResult;
 import com.fasterxml.jackson.databind.ObjectMapper;
-
 import jakarta.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.logging.Logger;
@@ -28,7 +45,9 @@ import java.util.Set;
 
 /**
  * UserController handles API requests related to user operations such as
- * creating, retrieving, updating, and deleting user information.
+ * creating, retrieving, updating, and deleting user information. Query parameters
+ * and bodies on body-less routes are rejected before these handlers run, by
+ * RequestShapeFilter.
  */
 @RestController
 @RequestMapping("/v1/user")
@@ -44,6 +63,23 @@ public class UserController {
   @Autowired
   private ImageService imageService;
 
+  @Autowired
+  private AccessTokenService accessTokenService;
+
+  // The application's shared mapper; building one per request is expensive.
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private UserRequestValidator userRequestValidator;
+
+  // Serialized /self responses, reused until the user's version changes.
+  @Autowired
+  private UserResponseCache userResponseCache;
+
+  @Value("${app.user.batch.max-size:10000}")
+  private int maxBatchSize = 10000;
+
   /**
    * Handles the POST request to create a new user.
    *
@@ -53,102 +89,156 @@ public class UserController {
    * status.
    */
   @PostMapping
-  public ResponseEntity<UserResponseDTO> createUser(@RequestBody Map<String, Object> requestBodyMap,
-                                                    HttpServletRequest request) {
+  public ResponseEntity<UserResponseDTO> createUser(@RequestBody UserCreateDTO userCreateDTO) {
 
     // Log the receipt of a POST request.
     LOGGER.info("POST Request Received.");
 
-    // Log query parameters if present
-    request.getParameterMap()
-            .forEach((key, value) -> LOGGER.warning("Query Parameter: " + key + " = " + String.join(",", value)));
+    // Extra or invalid fields were already rejected while binding the body (see handleUnreadableBody).
 
-    // Check if there are any query parameters, return BAD_REQUEST if found
-    if (!request.getParameterMap().isEmpty()) {
-      LOGGER.warning("Query parameters are not allowed in this request.");
+    // Validate the email and password in the incoming request.
+    ValidationResult validation = userRequestValidator.validateSignup(userCreateDTO);
+    if (!validation.isValid()) {
+      LOGGER.warning("Invalid signup request: " + validation);
       return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
     }
 
-    // Define the expected fields
-    Set<String> expectedFields = Set.of("emailAddress", "password", "firstName", "lastName");
+    String email = userCreateDTO.getEmailAddress();
 
-    // Check for any extra fields in the request body
-    Set<String> actualFields = requestBodyMap.keySet();
-    if (!expectedFields.containsAll(actualFields) || actualFields.size() > expectedFields.size()) {
-      LOGGER.warning("Request body contains extra or invalid fields.");
+    // Create a new User object and add it to the service. The insert is guarded by
+    // the unique constraint on email, so a duplicate surfaces as an exception here.
+    User savedUser;
+    try {
+      savedUser = userService.addUser(ControllerUtils.createUser(userCreateDTO));
+    } catch (IllegalArgumentException e) {
+      LOGGER.warning("User already exists: " + email);
       return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
     }
 
-    // Convert the request body to UserCreateDTO
-    ObjectMapper mapper = new ObjectMapper();
-    UserCreateDTO userCreateDTO = mapper.convertValue(requestBodyMap, UserCreateDTO.class);
+    // Prepare the response DTO from the saved entity.
+    UserResponseDTO userResponseDTO = ControllerUtils.setResponseObject(Optional.of(savedUser));
 
-    // Validate the email and password in the incoming request.
-    if (!ControllerUtils.validateEmailPassword(userCreateDTO)) {
-      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-    }
+    // Log successful user creation and return the response.
+    LOGGER.info("User created successfully: " + userResponseDTO);
+    return new ResponseEntity<>(userResponseDTO, HttpStatus.CREATED);
+  }
 
-    String email = userCreateDTO.getEmailAddress();
+  /**
+   * Handles the POST request to import many users at once (admin only). Each row is
+   * validated like a single signup; valid rows are hashed in parallel and inserted
+   * in JDBC batches, and every row gets its own result.
+   *
+   * @param requestBody List of user objects, same shape as the single-user POST.
+   * @return ResponseEntity containing one UserBatchResultDTO per row and HTTP status.
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<List<UserBatchResultDTO>> createUsers(@RequestBody List<Map<String, Object>> requestBody) {
 
-    // Check if a user with the given email already exists.
-    if (ControllerUtils.checkUserExists(userService, email)) {
-      LOGGER.warning("User already exists: " + email);
+    // Log the receipt of a batch POST request.
+    LOGGER.info("Batch POST Request Received: " + requestBody.size() + " rows.");
+
+    if (requestBody.isEmpty()) {
+      LOGGER.warning("Batch request is empty.");
       return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
     }
+    if (requestBody.size() > maxBatchSize) {
+      LOGGER.warning("Batch request exceeds the limit of " + maxBatchSize + " rows.");
+      return new ResponseEntity<>(HttpStatus.PAYLOAD_TOO_LARGE);
+    }
 
-    // Create a new User object and add it to the service.
-    User user = ControllerUtils.createUser(userCreateDTO);
-    userService.addUser(user);
-
-    // Prepare the response DTO with the created user details.
-    Optional<User> justAddedUser = ControllerUtils.getExsistingUser(userService, email);
-    if (justAddedUser.isPresent()) {
-      UserResponseDTO userResponseDTO = ControllerUtils
-              .setResponseObject(justAddedUser);
-      // Log successful user creation and return the response.
-      LOGGER.info("User created successfully: " + userResponseDTO);
-      return new ResponseEntity<>(userResponseDTO, HttpStatus.CREATED);
-    } else {
-      LOGGER.warning("User Creation Failed.");
-      return new ResponseEntity<>(HttpStatus.CREATED);
+    Set<String> expectedFields = Set.of("emailAddress", "password", "firstName", "lastName");
+    UserBatchResultDTO[] results = new UserBatchResultDTO[requestBody.size()];
+    List<Integer> validRows = new ArrayList<>();
+    List<User> usersToImport = new ArrayList<>();
+
+    // Validate each row on its own so one bad row does not reject the whole batch.
+    for (int i = 0; i < requestBody.size(); i++) {
+      Map<String, Object> row = requestBody.get(i);
+      Object email = row.get("emailAddress");
+      if (!expectedFields.containsAll(row.keySet())) {
+        results[i] = UserBatchResultDTO.failed(i, Objects.toString(email, null), "Row contains extra or invalid fields.");
+        continue;
+      }
+      UserCreateDTO userCreateDTO;
+      try {
+        userCreateDTO = objectMapper.convertValue(row, UserCreateDTO.class);
+      } catch (IllegalArgumentException e) {
+        // A field of the wrong type (e.g. an object or array) fails this row only.
+        results[i] = UserBatchResultDTO.failed(i, email instanceof String ? (String) email : null, "Invalid field types.");
+        continue;
+      }
+      ValidationResult validation = userRequestValidator.validateImport(userCreateDTO);
+      if (!validation.isValid()) {
+        results[i] = UserBatchResultDTO.failed(i, userCreateDTO.getEmailAddress(), validation.getMessage());
+        continue;
+      }
+      validRows.add(i);
+      usersToImport.add(ControllerUtils.createUser(userCreateDTO));
+    }
+
+    List<UserImportResult> imported = usersToImport.isEmpty() ? List.of() : userService.addUsers(usersToImport);
+    for (int j = 0; j < imported.size(); j++) {
+      int index = validRows.get(j);
+      UserImportResult result = imported.get(j);
+      String email = usersToImport.get(j).getEmailAddress();
+      results[index] = result.isCreated()
+          ? UserBatchResultDTO.created(index, email, result.user().getUserId())
+          : UserBatchResultDTO.failed(index, email, result.error());
     }
+
+    LOGGER.info("Batch import finished: " + imported.stream().filter(UserImportResult::isCreated).count()
+        + " of " + requestBody.size() + " rows created.");
+    return ResponseEntity.ok()
+        .header("Cache-Control", "no-cache", "no-store", "must-revalidate")
+        .header("Pragma", "no-cache")
+        .header("X-Content-Type-Options", "no-sniff")
+        .body(Arrays.asList(results));
   }
 
   /**
    * Handles the GET request to retrieve information about the currently
    * authenticated user.
    *
-   * @param request   The HTTP request object.
-   * @param principal Security principal object containing user credentials.
-   * @return ResponseEntity containing the UserResponseDTO and HTTP status.
+   * The response carries a strong ETag derived from the user id and entity version.
+   * A matching If-None-Match is answered with 304 before the response DTO is built.
+   * Otherwise the UserResponseDTO JSON for this user version is written from
+   * UserResponseCache, serialized at most once per version.
+   *
+   * @param principal   Security principal object containing user credentials.
+   * @param ifNoneMatch Entity tags from the If-None-Match header, if any.
+   * @return ResponseEntity containing the serialized UserResponseDTO and HTTP status.
    */
   @GetMapping("/self")
-  public ResponseEntity<UserResponseDTO> getUserInfo(HttpServletRequest request, Principal principal) {
+  public ResponseEntity<byte[]> getUserInfo(Principal principal,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                            String ifNoneMatch) {
 
     // Log the receipt of a GET request.
     LOGGER.info("GET Request Received.");
 
-    // Log query parameters if present
-    request.getParameterMap()
-            .forEach((key, value) -> LOGGER.warning("Query Parameter: " + key + " = " + String.join(",", value)));
-
-    // Check if there are any query parameters, return BAD_REQUEST if found
-    if (!request.getParameterMap().isEmpty()) {
-      LOGGER.warning("Query parameters are not allowed in this request.");
-      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-    }
-
     String email = principal.getName();
 
-    // Check if the authenticated user exists in the system.
-    if (ControllerUtils.checkUserExists(userService, email)) {
+    // Reuse the user loaded during authentication.
+    Optional<User> existingUser = ControllerUtils.getAuthenticatedUser(userService, principal);
+    if (existingUser.isPresent()) {
+      String eTag = userETag(existingUser.get());
+      // Clients may keep the profile but must revalidate it; shared caches must not store it.
+      CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+      if (matchesETag(ifNoneMatch, eTag)) {
+        LOGGER.info("User info not modified.");
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+      }
 
-      Optional<User> existingUser = ControllerUtils.getExsistingUser(userService, email);
-      UserResponseDTO userResponseDTO = ControllerUtils.setResponseObject(existingUser);
+      byte[] userResponseJson = userResponseCache.get(existingUser.get(),
+          user -> ControllerUtils.setResponseObject(Optional.of(user)));
 
       // Log successful user retrieval and return the response.
-      LOGGER.info("User info retrieved successfully: " + userResponseDTO);
-      return ResponseEntity.ok(userResponseDTO);
+      LOGGER.info("User info retrieved successfully: " + existingUser.get().getUserId());
+      return ResponseEntity.ok()
+          .eTag(eTag)
+          .cacheControl(cacheControl)
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(userResponseJson);
     }
 
     // Log if the user is not found and return a 404 response.
@@ -166,84 +256,102 @@ public class UserController {
    */
   @PutMapping("/self")
   public ResponseEntity<UserResponseDTO> updateUser(Principal principal,
-                                                    @RequestBody Map<String, Object> requestBodyMap,
-                                                    HttpServletRequest request) {
+                                                    @RequestBody UserUpdateDTO userUpdateDTO) {
 
     // Log the receipt of a PUT request.
     LOGGER.info("PUT Request Received.");
 
-    // Log query parameters if present
-    request.getParameterMap()
-            .forEach((key, value) -> LOGGER.warning("Query Parameter: " + key + " = " + String.join(",", value)));
-
-    // Check if there are any query parameters, return BAD_REQUEST if found
-    if (!request.getParameterMap().isEmpty()) {
-      LOGGER.warning("Query parameters are not allowed in this request.");
-      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-    }
-
     String email = principal.getName();
 
-    // Check if the authenticated user exists in the system.
-    if (!ControllerUtils.checkUserExists(userService, email)) {
+    // Reuse the user loaded during authentication.
+    Optional<User> existingUser = ControllerUtils.getAuthenticatedUser(userService, principal);
+    if (existingUser.isEmpty()) {
       LOGGER.warning("User doesn't exist: " + email);
       return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 
-    // Define the allowed fields for the update
-    Set<String> allowedFields = Set.of("password", "firstName", "lastName");
-
-    // Check if the request body contains only the allowed fields
-    Set<String> actualFields = requestBodyMap.keySet();
-    if (!allowedFields.containsAll(actualFields) || actualFields.isEmpty()) {
-      LOGGER.warning("Request body contains extra or invalid fields.");
+    // Fields outside password, firstName and lastName were rejected while binding; an
+    // empty body is still an error.
+    ValidationResult validation = userRequestValidator.validateUpdate(userUpdateDTO);
+    if (!validation.isValid()) {
+      LOGGER.warning("Invalid update request: " + validation);
       return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
     }
 
-    // Convert the request body to UserUpdateDTO
-    ObjectMapper mapper = new ObjectMapper();
-    UserUpdateDTO userUpdateDTO = mapper.convertValue(requestBodyMap, UserUpdateDTO.class);
-
-    // Update the user information and save the changes in the service.
-    User userToUpdate = ControllerUtils.updateUser(userService, userUpdateDTO, email);
-    userService.updateUser(email, userToUpdate);
+    // Apply only the fields present in the request; unchanged profiles are not written.
+    User changes = ControllerUtils.updateUser(userUpdateDTO);
+    try {
+      userService.updateUser(email, changes);
+    } catch (OptimisticLockingFailureException e) {
+      LOGGER.warning("Concurrent update conflict for user: " + email);
+      return new ResponseEntity<>(HttpStatus.CONFLICT);
+    }
 
     // Log the successful update of user information.
     LOGGER.info("User Updated Successfully");
     return new ResponseEntity<>(HttpStatus.NO_CONTENT);
   }
 
+  /**
+   * Handles the POST request to exchange Basic credentials for a short-lived
+   * bearer token, so later calls can skip the password hash check.
+   *
+   * @param principal Security principal object containing user credentials.
+   * @return ResponseEntity containing the AccessTokenResponseDTO and HTTP status.
+   */
+  @PostMapping("/self/token")
+  public ResponseEntity<AccessTokenResponseDTO> issueAccessToken(Principal principal) {
+
+    // Log the receipt of a token request.
+    LOGGER.info("Token POST Request Received.");
+
+    // A token may only be obtained with the account password, not with another token.
+    if (principal instanceof Authentication authentication
+        && authentication.getPrincipal() instanceof AccessTokenClaims) {
+      LOGGER.warning("Access token refresh with a bearer token is not allowed.");
+      return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+    }
+
+    Optional<User> existingUser = ControllerUtils.getAuthenticatedUser(userService, principal);
+    if (existingUser.isEmpty()) {
+      LOGGER.warning("User not found for email: " + principal.getName());
+      return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
+    String token = accessTokenService.issue(existingUser.get());
+    LOGGER.info("Access token issued.");
+    return ResponseEntity.status(HttpStatus.CREATED)
+            .header("Cache-Control", "no-store")
+            .header("Pragma", "no-cache")
+            .body(new AccessTokenResponseDTO(token, "Bearer", accessTokenService.getTtlSeconds()));
+  }
+
   @PostMapping(value = "/self/pic", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<ImageResponseDTO> uploadUserImage(Principal principal, @RequestParam("file") MultipartFile file,
-                                           HttpServletRequest request) {
+                                                          HttpServletRequest request) {
 
     // Log the receipt of a POST request.
     LOGGER.info("Image POST Request Received.");
 
-    // Log query parameters if present
-    request.getParameterMap()
-            .forEach((key, value) -> LOGGER.warning("Query Parameter: " + key + " = " + String.join(",", value)));
-
-    // Check if there are any query parameters, return BAD_REQUEST if found
+    // RequestShapeFilter already rejected query strings; the multipart body is parsed by
+    // now, so anything left in the parameter map is an extra form field.
     if (!request.getParameterMap().isEmpty()) {
-      LOGGER.warning("Query parameters are not allowed in this request.");
+      LOGGER.warning("Form fields other than the file are not allowed in this request.");
       return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
     }
 
     String email = principal.getName();
 
-    // Check if the authenticated user exists in the system.
-    if (ControllerUtils.checkUserExists(userService, email)) {
-      Optional<User> existingUser = ControllerUtils.getExsistingUser(userService, email);
-      if (existingUser.isPresent()) {
-        User user = existingUser.get();
-        try {
-          UUID userId = user.getUserId();
-          ImageResponseDTO response = imageService.uploadImage(file, userId);
-          return new ResponseEntity<>(response, HttpStatus.CREATED);
-        } catch (IOException e) {
-          return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
-        }
+    // Reuse the user loaded during authentication.
+    Optional<User> existingUser = ControllerUtils.getAuthenticatedUser(userService, principal);
+    if (existingUser.isPresent()) {
+      User user = existingUser.get();
+      try {
+        UUID userId = user.getUserId();
+        ImageResponseDTO response = imageService.uploadImage(file, userId);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+      } catch (IOException e) {
+        return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
       }
     }
     // Log if the user is not found and return a 404 response.
@@ -252,95 +360,91 @@ public class UserController {
   }
 
   @GetMapping(value = "/self/pic", produces = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<ImageResponseDTO> getUserImage(Principal principal,  HttpServletRequest request,
-                                                       @RequestBody Map<String, Object> requestBodyMap) {
+  public ResponseEntity<ImageResponseDTO> getUserImage(Principal principal) {
 
     // Log the receipt of a POST request.
     LOGGER.info("Image GET Request Received.");
 
-    // Log query parameters if present
-    request.getParameterMap()
-            .forEach((key, value) -> LOGGER.warning("Query Parameter: " + key + " = " + String.join(",", value)));
-
-    // Check if there are any query parameters, return BAD_REQUEST if found
-    if (!request.getParameterMap().isEmpty()) {
-      LOGGER.warning("Query parameters are not allowed in this request.");
-      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-    }
-
-    // Check for any fields in the request body; return BAD_REQUEST if found
-    if (!requestBodyMap.isEmpty()) {
-      LOGGER.warning("Request body should not contain any fields.");
-      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-    }
-
     String email = principal.getName();
 
-    // Check if the authenticated user exists in the system.
-    if (ControllerUtils.checkUserExists(userService, email)) {
-      Optional<User> existingUser = ControllerUtils.getExsistingUser(userService, email);
-      if (existingUser.isPresent()) {
-        User user = existingUser.get();
-        try {
-          UUID userId = user.getUserId();
-          ImageResponseDTO imageResponseData = imageService.downloadImage(userId);
-          LOGGER.info("Request Successful. Returning ImageResponseDTO.");
-          return new ResponseEntity<>(imageResponseData, HttpStatus.OK);
-        } catch (IOException e) {
-          LOGGER.warning("Error fetching image: " + e.getMessage());
-          return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
+    // Reuse the user loaded during authentication.
+    Optional<User> existingUser = ControllerUtils.getAuthenticatedUser(userService, principal);
+    if (existingUser.isPresent()) {
+      User user = existingUser.get();
+      try {
+        UUID userId = user.getUserId();
+        ImageResponseDTO imageResponseData = imageService.downloadImage(userId);
+        LOGGER.info("Request Successful. Returning ImageResponseDTO.");
+        return new ResponseEntity<>(imageResponseData, HttpStatus.OK);
+      } catch (IOException e) {
+        LOGGER.warning("Error fetching image: " + e.getMessage());
+        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
       }
-    } else {
-      return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
     }
 
-    return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+    LOGGER.warning("User not found for email: " + email);
+    return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
   }
 
   @DeleteMapping("/self/pic")
-  public ResponseEntity<Void> deleteUserImage(Principal principal,  HttpServletRequest request,
-                                              @RequestBody Map<String, Object> requestBodyMap) {
+  public ResponseEntity<Void> deleteUserImage(Principal principal) {
     // Log the receipt of a POST request.
     LOGGER.info("Image DELETE Request Received.");
 
-    // Log query parameters if present
-    request.getParameterMap()
-            .forEach((key, value) -> LOGGER.warning("Query Parameter: " + key + " = " + String.join(",", value)));
+    String email = principal.getName();
 
-    // Check if there are any query parameters, return BAD_REQUEST if found
-    if (!request.getParameterMap().isEmpty()) {
-      LOGGER.warning("Query parameters are not allowed in this request.");
-      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    // Reuse the user loaded during authentication.
+    Optional<User> existingUser = ControllerUtils.getAuthenticatedUser(userService, principal);
+    if (existingUser.isPresent()) {
+      User user = existingUser.get();
+      try {
+        UUID userId = user.getUserId();
+        imageService.deleteImage(userId);
+        LOGGER.info("Request Successful. Image Deleted Successfully.");
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+      } catch (IOException e) {
+        LOGGER.warning("Error Deleting image: " + e.getMessage());
+        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+      }
     }
 
-    // Check for any fields in the request body; return BAD_REQUEST if found
-    if (!requestBodyMap.isEmpty()) {
-      LOGGER.warning("Request body should not contain any fields.");
-      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-    }
+    LOGGER.warning("User not found for email: " + email);
+    return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+  }
 
-    String email = principal.getName();
+  // Every profile write advances the @Version column, so id and version identify the
+  // exact representation; the profile timestamps alone can collide within a tick.
+  private static String userETag(User user) {
+    return "\"" + user.getUserId() + "-" + user.getVersion() + "\"";
+  }
 
-    // Check if the authenticated user exists in the system.
-    if (ControllerUtils.checkUserExists(userService, email)) {
-      Optional<User> existingUser = ControllerUtils.getExsistingUser(userService, email);
-      if (existingUser.isPresent()) {
-        User user = existingUser.get();
-        try {
-          UUID userId = user.getUserId();
-          imageService.deleteImage(userId);
-          LOGGER.info("Request Successful. Image Deleted Successfully.");
-          return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-        } catch (IOException e) {
-          LOGGER.warning("Error Deleting image: " + e.getMessage());
-          return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
+  // If-None-Match uses weak comparison, so a W/ prefix added by a proxy still matches.
+  private static boolean matchesETag(String ifNoneMatch, String eTag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals(eTag)) {
+        return true;
       }
-    } else {
-      return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
     }
-    return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+    return false;
+  }
+
+  /**
+   * Turns a body that cannot be bound (malformed JSON, unknown or mistyped fields) into
+   * the same bare 400 the hand-written field checks used to return.
+   *
+   * @return ResponseEntity with 400 Bad Request.
+   */
+  @ExceptionHandler(HttpMessageNotReadableException.class)
+  public ResponseEntity<Void> handleUnreadableBody(HttpMessageNotReadableException e) {
+    LOGGER.warning("Request body contains extra or invalid fields: " + e.getMostSpecificCause().getMessage());
+    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
   }
 
   /**
@@ -1,18 +1,53 @@
 package com.cloudcomputing.movieRetrievalWebApp.dao;
 
 import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserChange;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserChangeCursor;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserCredentials;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserSummary;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface UserDAO {
+  /**
+   * @deprecated materializes every user; use {@link #getUserPage} or {@link #streamUsers}.
+   */
+  @Deprecated
   List<User> getAllUsers();
 
-  Optional<User> getUserById(Long id);
+  List<UserSummary> getUserPage(UUID after, int limit);
+
+  void streamUsers(int fetchSize, Consumer<UserSummary> consumer);
+
+  long countUsers();
+
+  void streamEmails(int fetchSize, Consumer<String> consumer);
+
+  List<String> getEmailsUpdatedSince(LocalDateTime since);
+
+  List<UserChange> getChangesAfter(UserChangeCursor cursor, LocalDateTime until, int limit);
+
+  Optional<User> getUserById(UUID id);
+
+  Optional<User> getUserByEmail(String emailId);
+
+  Optional<UserCredentials> getCredentialsByEmail(String emailId);
+
+  boolean existsByEmail(String emailId);
+
+  Set<String> findExistingEmails(Collection<String> emailIds);
 
   User createUser(User user);
 
-  User updateUser(String emailId, User user);
+  List<User> createUsers(List<User> users);
+
+  User updateUser(User existingUser, User changes);
 
   void deleteUser(String emailId);
 }
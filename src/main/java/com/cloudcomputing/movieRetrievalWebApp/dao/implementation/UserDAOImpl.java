@@ -2,13 +2,34 @@ package com.cloudcomputing.movieRetrievalWebApp.dao.implementation;
 
 import com.cloudcomputing.movieRetrievalWebApp.dao.UserDAO;
 import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserChange;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserChangeCursor;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserCredentials;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserSummary;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserTombstone;
 import com.cloudcomputing.movieRetrievalWebApp.repository.UserRepo;
+import com.cloudcomputing.movieRetrievalWebApp.repository.UserTombstoneRepo;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 @Repository
 public class UserDAOImpl implements UserDAO {
@@ -16,55 +37,217 @@ public class UserDAOImpl implements UserDAO {
   @Autowired
   private UserRepo userRepo;
 
+  @Autowired
+  private UserTombstoneRepo userTombstoneRepo;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  // Same order as the keyset queries. MySQL compares BINARY(16) ids as unsigned bytes,
+  // while UUID.compareTo compares signed longs, so ids with the top bit set would tie-break
+  // differently in memory than in the database.
+  private static final Comparator<UUID> BINARY_ID_ORDER = (a, b) -> {
+    int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+    return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+  };
+
+  private static final Comparator<UserChange> CHANGE_ORDER =
+      Comparator.comparing(UserChange::changedAt).thenComparing(UserChange::userId, BINARY_ID_ORDER);
+
   @Override
+  @Transactional(readOnly = true)
+  @Deprecated
   public List<User> getAllUsers() {
     return userRepo.findAll();
   }
 
   @Override
-  public Optional<User> getUserById(Long id) {
+  @Transactional(readOnly = true)
+  public List<UserSummary> getUserPage(UUID after, int limit) {
+    return after == null
+        ? userRepo.findSummaries(Limit.of(limit))
+        : userRepo.findSummariesAfter(after, Limit.of(limit));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void streamUsers(int fetchSize, Consumer<UserSummary> consumer) {
+    // A dedicated template so the fetch size applies to this cursor only. On MySQL the
+    // driver needs useCursorFetch=true in the JDBC URL to honour it instead of buffering.
+    JdbcTemplate streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+    streamingTemplate.setFetchSize(fetchSize);
+    streamingTemplate.query(
+        "SELECT user_id, email_address, first_name, last_name, account_created, account_updated "
+            + "FROM users ORDER BY user_id",
+        (RowCallbackHandler) rs -> consumer.accept(new UserSummary(
+            toUuid(rs.getBytes("user_id")),
+            rs.getString("email_address"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getObject("account_created", LocalDateTime.class),
+            rs.getObject("account_updated", LocalDateTime.class))));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long countUsers() {
+    return userRepo.count();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void streamEmails(int fetchSize, Consumer<String> consumer) {
+    // Same cursor-based read as streamUsers, but only the unique index on email_address is touched.
+    JdbcTemplate streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+    streamingTemplate.setFetchSize(fetchSize);
+    streamingTemplate.query("SELECT email_address FROM users",
+        (RowCallbackHandler) rs -> consumer.accept(rs.getString(1)));
+  }
+
+  // Not read-only, so it is served by the primary: the email filter only trusts a miss
+  // while this sync is recent, which replica lag would silently extend.
+  @Override
+  @Transactional
+  public List<String> getEmailsUpdatedSince(LocalDateTime since) {
+    return userRepo.findEmailAddressesUpdatedSince(since);
+  }
+
+  // Not read-only, so it is served by the primary: on a lagging replica a row committed
+  // before the settle cutoff could still be missing, and a cursor issued past it would skip it.
+  @Override
+  @Transactional
+  public List<UserChange> getChangesAfter(UserChangeCursor cursor, LocalDateTime until, int limit) {
+    // Both sources are read in (timestamp, id) order with the same bound, so the first
+    // `limit` entries of their merge are exactly the next page of the combined feed.
+    List<UserSummary> users = userRepo.findSummariesChangedAfter(
+        cursor.changedAt(), cursor.userId(), until, Limit.of(limit));
+    List<UserTombstone> tombstones = userTombstoneRepo.findDeletedAfter(
+        cursor.changedAt(), cursor.userId(), until, Limit.of(limit));
+
+    List<UserChange> changes = new ArrayList<>(users.size() + tombstones.size());
+    users.forEach(user -> changes.add(UserChange.of(user)));
+    tombstones.forEach(tombstone -> changes.add(UserChange.deleted(tombstone)));
+    changes.sort(CHANGE_ORDER);
+    return changes.size() > limit ? changes.subList(0, limit) : changes;
+  }
+
+  private static UUID toUuid(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new UUID(buffer.getLong(), buffer.getLong());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<User> getUserById(UUID id) {
+    // Primary-key lookup on the BINARY(16) user_id column.
     return userRepo.findById(id);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<User> getUserByEmail(String emailId) {
+    return userRepo.findByEmailAddress(emailId);
+  }
+
+  // Deliberately not read-only, so it is routed to the primary: a lagging replica must
+  // not keep accepting a changed password or a deleted account.
+  @Override
+  @Transactional
+  public Optional<UserCredentials> getCredentialsByEmail(String emailId) {
+    return userRepo.findCredentialsByEmailAddress(emailId);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public boolean existsByEmail(String emailId) {
+    return userRepo.existsByEmailAddress(emailId);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Set<String> findExistingEmails(Collection<String> emailIds) {
+    return new HashSet<>(userRepo.findExistingEmailAddresses(emailIds));
+  }
+
   @Override
   public User createUser(User user) {
     try {
-      if (userRepo.findAll().stream().anyMatch(u -> u.getEmailAddress().equals(user.getEmailAddress()))) {
-        throw new IllegalArgumentException("User with this email already exists.");
+      // One INSERT; the unique constraint on email_address rejects duplicates atomically.
+      return userRepo.saveAndFlush(user);
+    } catch (DataIntegrityViolationException e) {
+      if (isDuplicateEmail(e)) {
+        throw new IllegalArgumentException("User with this email already exists.", e);
       }
-      return userRepo.save(user);
-    } catch (InvalidDataAccessApiUsageException e) {
-      throw new IllegalArgumentException("User with this email already exists.", e);
+      throw e;
     }
   }
 
   @Override
-  public User updateUser(String emailId, User updatedUserDetails) {
-    Optional<User> userOptional = userRepo.findAll().stream()
-        .filter(user -> user.getEmailAddress().equals(emailId))
-        .findFirst();
+  @Transactional
+  public List<User> createUsers(List<User> users) {
+    try {
+      // Inserts are sent as JDBC batches (hibernate.jdbc.batch_size) when the chunk is flushed.
+      List<User> savedUsers = userRepo.saveAll(users);
+      userRepo.flush();
+      return savedUsers;
+    } catch (DataIntegrityViolationException e) {
+      if (isDuplicateEmail(e)) {
+        throw new IllegalArgumentException("One or more users in the batch already exist.", e);
+      }
+      throw e;
+    }
+  }
 
-    if (userOptional.isPresent()) {
-      User user = userOptional.get();
-      user.setFirstName(updatedUserDetails.getFirstName());
-      user.setLastName(updatedUserDetails.getLastName());
-      user.setPassword(updatedUserDetails.getPassword()); // Encrypt password
-      return userRepo.save(user);
-    } else {
-      throw new IllegalArgumentException("User with email " + emailId + " not found.");
+  // Only the unique email constraint means "already exists"; NOT NULL, length and other
+  // constraint failures are bugs or bad data and must not be reported as duplicates.
+  // Dialects report the name differently (MySQL prefixes the table, H2 upper-cases it
+  // and appends the index), so it is matched as a substring.
+  private static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation) {
+        String constraintName = violation.getConstraintName();
+        return constraintName != null
+            && constraintName.toLowerCase(Locale.ROOT).contains(User.EMAIL_UNIQUE_CONSTRAINT);
+      }
     }
+    return false;
   }
 
   @Override
-  public void deleteUser(String emailId) {
-    Optional<User> userOptional = userRepo.findAll().stream()
-        .filter(user -> user.getEmailAddress().equals(emailId))
-        .findFirst();
-
-    if (userOptional.isPresent()) {
-      userRepo.delete(userOptional.get());
-    } else {
-      throw new IllegalArgumentException("User with email " + emailId + " not found.");
+  @Transactional
+  public User updateUser(User existingUser, User changes) {
+    String emailId = existingUser.getEmailAddress();
+    // The caller's copy may come from a cache or a lagging replica, so the changes are
+    // applied to a fresh read inside this read-write transaction (so from the primary).
+    // Flushing the managed entity issues UPDATE ... WHERE user_id = ? AND version = ?,
+    // which replaces only this user's cache entry; a JPQL bulk UPDATE would clear the
+    // whole users region. A write landing in between surfaces as
+    // OptimisticLockingFailureException.
+    User currentUser = userRepo.findCurrentByEmailAddress(emailId)
+        .orElseThrow(() -> new IllegalArgumentException("User with email " + emailId + " not found."));
+    // Compared against the fresh row, never a cached copy: a request restoring a value that
+    // another instance has since overwritten must still be written.
+    if (!hasChanges(currentUser, changes)) {
+      return currentUser;
     }
+    currentUser.applyChanges(changes, LocalDateTime.now());
+    return userRepo.saveAndFlush(currentUser);
+  }
+
+  private static boolean hasChanges(User user, User changes) {
+    return changes.getPassword() != null
+        || (changes.getFirstName() != null && !changes.getFirstName().equals(user.getFirstName()))
+        || (changes.getLastName() != null && !changes.getLastName().equals(user.getLastName()));
+  }
+
+  @Override
+  @Transactional
+  public void deleteUser(String emailId) {
+    User user = userRepo.findCurrentByEmailAddress(emailId)
+        .orElseThrow(() -> new IllegalArgumentException("User with email " + emailId + " not found."));
+    // Removing the entity evicts only its own cache entries, unlike a bulk DELETE.
+    userRepo.delete(user);
+    // Committed with the delete, so the change feed never misses it.
+    userTombstoneRepo.save(new UserTombstone(user.getUserId(), emailId, LocalDateTime.now()));
   }
 }
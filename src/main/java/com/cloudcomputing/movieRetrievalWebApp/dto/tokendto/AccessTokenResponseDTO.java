@@ -0,0 +1,26 @@
+package com.cloudcomputing.movieRetrievalWebApp.dto.tokendto;
+
+public class AccessTokenResponseDTO {
+
+    private final String access_token;
+    private final String token_type;
+    private final long expires_in;
+
+    public AccessTokenResponseDTO(String access_token, String token_type, long expires_in) {
+        this.access_token = access_token;
+        this.token_type = token_type;
+        this.expires_in = expires_in;
+    }
+
+    public String getAccess_token() {
+        return access_token;
+    }
+
+    public String getToken_type() {
+        return token_type;
+    }
+
+    public long getExpires_in() {
+        return expires_in;
+    }
+}
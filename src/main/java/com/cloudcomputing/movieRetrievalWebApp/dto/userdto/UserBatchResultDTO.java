@@ -0,0 +1,48 @@
+package com.cloudcomputing.movieRetrievalWebApp.dto.userdto;
+
+import java.util.UUID;
+
+public class UserBatchResultDTO {
+
+    private final int index;
+    private final String email;
+    private final String status;
+    private final UUID id;
+    private final String error;
+
+    private UserBatchResultDTO(int index, String email, String status, UUID id, String error) {
+        this.index = index;
+        this.email = email;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static UserBatchResultDTO created(int index, String email, UUID id) {
+        return new UserBatchResultDTO(index, email, "CREATED", id, null);
+    }
+
+    public static UserBatchResultDTO failed(int index, String email, String error) {
+        return new UserBatchResultDTO(index, email, "FAILED", null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,40 @@
+package com.cloudcomputing.movieRetrievalWebApp.dto.userdto;
+
+import java.util.UUID;
+
+public class UserChangeDTO {
+
+    private final String type;
+    private final UUID id;
+    private final String email;
+    private final String changed_at;
+    private final UserResponseDTO user;
+
+    public UserChangeDTO(String type, UUID id, String email, String changed_at, UserResponseDTO user) {
+        this.type = type;
+        this.id = id;
+        this.email = email;
+        this.changed_at = changed_at;
+        this.user = user;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getChanged_at() {
+        return changed_at;
+    }
+
+    public UserResponseDTO getUser() {
+        return user;
+    }
+}
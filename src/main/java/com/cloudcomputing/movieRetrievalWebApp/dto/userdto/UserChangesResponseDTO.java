@@ -0,0 +1,28 @@
+package com.cloudcomputing.movieRetrievalWebApp.dto.userdto;
+
+import java.util.List;
+
+public class UserChangesResponseDTO {
+
+    private final List<UserChangeDTO> changes;
+    private final String next_cursor;
+    private final boolean has_more;
+
+    public UserChangesResponseDTO(List<UserChangeDTO> changes, String next_cursor, boolean has_more) {
+        this.changes = changes;
+        this.next_cursor = next_cursor;
+        this.has_more = has_more;
+    }
+
+    public List<UserChangeDTO> getChanges() {
+        return changes;
+    }
+
+    public String getNext_cursor() {
+        return next_cursor;
+    }
+
+    public boolean isHas_more() {
+        return has_more;
+    }
+}
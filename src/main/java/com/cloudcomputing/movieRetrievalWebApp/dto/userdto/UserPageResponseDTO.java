@@ -0,0 +1,23 @@
+package com.cloudcomputing.movieRetrievalWebApp.dto.userdto;
+
+import java.util.List;
+import java.util.UUID;
+
+public class UserPageResponseDTO {
+
+    private final List<UserResponseDTO> users;
+    private final UUID next_cursor;
+
+    public UserPageResponseDTO(List<UserResponseDTO> users, UUID next_cursor) {
+        this.users = users;
+        this.next_cursor = next_cursor;
+    }
+
+    public List<UserResponseDTO> getUsers() {
+        return users;
+    }
+
+    public UUID getNext_cursor() {
+        return next_cursor;
+    }
+}
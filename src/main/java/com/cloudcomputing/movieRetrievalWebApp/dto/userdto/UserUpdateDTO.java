@@ -1,13 +1,14 @@
 package com.cloudcomputing.movieRetrievalWebApp.dto.userdto;
 
 import jakarta.annotation.Nullable;
-import jakarta.validation.constraints.Email;
 
+/**
+ * Body of PUT /v1/user/self. The email address is the account's identity and cannot be
+ * changed, so it is deliberately not a property here: sending it fails binding like any
+ * other unknown field.
+ */
 public class UserUpdateDTO {
 
-    @Email(message = "Email should be valid")
-    private String emailAddress;
-
     @Nullable
     private String password;
 
@@ -17,15 +18,10 @@ public class UserUpdateDTO {
     @Nullable
     private String lastName;
 
-    // Getters and Setters
-
-    public String getEmailAddress() {
-        return emailAddress;
-    }
+    // Set by the setters, so an explicit null still counts as a field that was sent.
+    private boolean anyFieldPresent;
 
-    public void setEmailAddress(String emailAddress) {
-        this.emailAddress = emailAddress;
-    }
+    // Getters and Setters
 
     public String getPassword() {
         return password;
@@ -33,6 +29,7 @@ public class UserUpdateDTO {
 
     public void setPassword(String password) {
         this.password = password;
+        this.anyFieldPresent = true;
     }
 
     public String getFirstName() {
@@ -41,6 +38,7 @@ public class UserUpdateDTO {
 
     public void setFirstName(String firstName) {
         this.firstName = firstName;
+        this.anyFieldPresent = true;
     }
 
     public String getLastName() {
@@ -49,5 +47,10 @@ public class UserUpdateDTO {
 
     public void setLastName(String lastName) {
         this.lastName = lastName;
+        this.anyFieldPresent = true;
+    }
+
+    public boolean hasFields() {
+        return anyFieldPresent;
     }
 }
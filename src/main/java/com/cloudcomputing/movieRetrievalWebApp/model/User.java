@@ -1,17 +1,43 @@
 package com.cloudcomputing.movieRetrievalWebApp.model;
 
+import com.cloudcomputing.movieRetrievalWebApp.util.TimeOrderedUuidGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
-public class User {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
+@Table(name = "users", uniqueConstraints = {
+    @UniqueConstraint(name = User.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email_address")
+}, indexes = {
+    // Serves the change feed: a range seek on account_updated, tie-broken by user_id.
+    @Index(name = "idx_users_account_updated", columnList = "account_updated, user_id")
+})
+public class User implements Persistable<UUID> {
+  public static final String CACHE_REGION = "users";
+  public static final String NATURAL_ID_CACHE_REGION = "users-natural-id";
+  public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_users_email_address";
+
+  // Stored as BINARY(16) rather than a 36-character string to keep the clustered
+  // index, and every secondary index entry that carries it, small.
   @Id
+  @JdbcTypeCode(SqlTypes.BINARY)
+  @Column(name = "user_id", length = 16, nullable = false, updatable = false)
   private UUID userId;
 
-  @Column(nullable = false)
+  // Immutable natural id: lookups by email resolve through the natural-id cache.
+  @NaturalId
+  @Column(name = "email_address", nullable = false)
   private String emailAddress;
 
   @Column(nullable = false)
@@ -26,23 +52,33 @@ public class User {
   @Column(nullable = false, updatable = false)
   private LocalDateTime accountCreated;
 
-  @Column(nullable = false)
+  @Column(name = "account_updated", nullable = false)
   private LocalDateTime accountUpdated;
 
+  // Bumped by every update; conditional UPDATEs match on it instead of locking the row.
+  @Version
+  @Column(nullable = false)
+  private long version;
+
+  // The id is assigned up front, so Spring Data cannot infer newness from a null id.
+  // Tracking it here lets save() issue a plain INSERT instead of a merge (SELECT + INSERT).
+  @Transient
+  private boolean isNew = true;
+
+  // Used by Hibernate when hydrating rows and for partial-update change sets, neither of
+  // which needs an id; new accounts go through the creating constructor below.
   public User() {
-    this.userId = UUID.randomUUID();
-    this.accountCreated = LocalDateTime.now();
-    this.accountUpdated = LocalDateTime.now();
   }
 
   public User(String emailAddress, String password, String firstName, String lastName) {
-    this.userId = UUID.randomUUID();
+    this.userId = TimeOrderedUuidGenerator.next();
     this.emailAddress = emailAddress;
     this.password = password;
     this.firstName = firstName;
     this.lastName = lastName;
+    // Same instant for both, so a never-updated row reads as created in the change feed.
     this.accountCreated = LocalDateTime.now();
-    this.accountUpdated = LocalDateTime.now();
+    this.accountUpdated = this.accountCreated;
   }
 
   public UUID getUserId() {
@@ -93,6 +129,72 @@ public class User {
     return accountUpdated;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Applies the non-null fields of {@code changes} to this user. On a managed entity the
+   * version is advanced by Hibernate when the change is flushed.
+   */
+  public void applyChanges(User changes, LocalDateTime updatedAt) {
+    if (changes.getPassword() != null) {
+      password = changes.getPassword();
+    }
+    if (changes.getFirstName() != null) {
+      firstName = changes.getFirstName();
+    }
+    if (changes.getLastName() != null) {
+      lastName = changes.getLastName();
+    }
+    accountUpdated = updatedAt;
+  }
+
+  /**
+   * Returns a detached copy of this user with the non-null fields of {@code changes}
+   * applied and the version advanced, mirroring a successful update.
+   */
+  public User withChanges(User changes, LocalDateTime updatedAt) {
+    User copy = new User(emailAddress,
+        changes.getPassword() != null ? changes.getPassword() : password,
+        changes.getFirstName() != null ? changes.getFirstName() : firstName,
+        changes.getLastName() != null ? changes.getLastName() : lastName);
+    copy.userId = userId;
+    copy.accountCreated = accountCreated;
+    copy.accountUpdated = updatedAt;
+    copy.version = version + 1;
+    copy.isNew = false;
+    return copy;
+  }
+
+  @Override
+  public UUID getId() {
+    return userId;
+  }
+
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  // Covers a new entity built with the no-arg constructor and setters.
+  @PrePersist
+  void assignIdentity() {
+    if (userId == null) {
+      userId = TimeOrderedUuidGenerator.next();
+    }
+    if (accountCreated == null) {
+      accountCreated = LocalDateTime.now();
+      accountUpdated = accountCreated;
+    }
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.isNew = false;
+  }
+
   @Override
   public String toString() {
     return "User{" +
@@ -103,6 +205,7 @@ public class User {
         ", lastName='" + lastName + '\'' +
         ", accountCreated=" + accountCreated +
         ", accountUpdated=" + accountUpdated +
+        ", version=" + version +
         '}';
   }
 }
@@ -0,0 +1,31 @@
+package com.cloudcomputing.movieRetrievalWebApp.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One entry of the user change feed. {@code user} is the current state for creates and
+ * updates and {@code null} for deletions. Entries are ordered by (changedAt, userId).
+ */
+public record UserChange(Type type, UUID userId, String emailAddress, LocalDateTime changedAt, UserSummary user) {
+
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  public static UserChange of(UserSummary user) {
+    Type type = user.accountCreated().equals(user.accountUpdated()) ? Type.CREATED : Type.UPDATED;
+    return new UserChange(type, user.userId(), user.emailAddress(), user.accountUpdated(), user);
+  }
+
+  public static UserChange deleted(UserTombstone tombstone) {
+    return new UserChange(Type.DELETED, tombstone.getUserId(), tombstone.getEmailAddress(),
+        tombstone.getDeletedAt(), null);
+  }
+
+  public UserChangeCursor cursor() {
+    return new UserChangeCursor(changedAt, userId);
+  }
+}
@@ -0,0 +1,50 @@
+package com.cloudcomputing.movieRetrievalWebApp.model;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the user change feed: everything strictly after (changedAt, userId).
+ * Handed to clients as an opaque URL-safe token so its layout can change later.
+ */
+public record UserChangeCursor(LocalDateTime changedAt, UUID userId) {
+
+  /** Position before every change. */
+  public static final UserChangeCursor START =
+      new UserChangeCursor(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0L, 0L));
+
+  private static final int TOKEN_BYTES = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+  public String encode() {
+    ByteBuffer buffer = ByteBuffer.allocate(TOKEN_BYTES)
+        .putLong(changedAt.toEpochSecond(ZoneOffset.UTC))
+        .putInt(changedAt.getNano())
+        .putLong(userId.getMostSignificantBits())
+        .putLong(userId.getLeastSignificantBits());
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+  }
+
+  public static UserChangeCursor decode(String token) {
+    byte[] bytes;
+    try {
+      bytes = Base64.getUrlDecoder().decode(token);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Malformed change cursor.", e);
+    }
+    if (bytes.length != TOKEN_BYTES) {
+      throw new IllegalArgumentException("Malformed change cursor.");
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    LocalDateTime changedAt;
+    try {
+      changedAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Malformed change cursor.", e);
+    }
+    return new UserChangeCursor(changedAt, new UUID(buffer.getLong(), buffer.getLong()));
+  }
+}
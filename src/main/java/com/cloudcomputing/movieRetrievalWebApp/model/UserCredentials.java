@@ -0,0 +1,10 @@
+package com.cloudcomputing.movieRetrievalWebApp.model;
+
+import java.util.UUID;
+
+/**
+ * The columns authentication needs from a user row, selected on their own so the
+ * login path does not load and hydrate the full User entity.
+ */
+public record UserCredentials(UUID userId, String emailAddress, String password) {
+}
@@ -0,0 +1,12 @@
+package com.cloudcomputing.movieRetrievalWebApp.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only view of a user for listings and exports. Selected column by column, so
+ * paging and streaming never hydrate managed User entities or touch the password.
+ */
+public record UserSummary(UUID userId, String emailAddress, String firstName, String lastName,
+                          LocalDateTime accountCreated, LocalDateTime accountUpdated) {
+}
@@ -0,0 +1,72 @@
+package com.cloudcomputing.movieRetrievalWebApp.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Marker left behind when a user is deleted, so change-feed consumers learn about
+ * the deletion instead of silently keeping a stale copy.
+ */
+@Entity
+@Table(name = "user_tombstones", indexes = {
+    @Index(name = "idx_user_tombstones_deleted_at", columnList = "deleted_at, user_id")
+})
+public class UserTombstone implements Persistable<UUID> {
+
+  @Id
+  @JdbcTypeCode(SqlTypes.BINARY)
+  @Column(name = "user_id", length = 16, nullable = false, updatable = false)
+  private UUID userId;
+
+  @Column(name = "email_address", nullable = false, updatable = false)
+  private String emailAddress;
+
+  @Column(name = "deleted_at", nullable = false, updatable = false)
+  private LocalDateTime deletedAt;
+
+  // User ids are never reused, so a tombstone is always a fresh row: save() can INSERT directly.
+  @Transient
+  private boolean isNew = true;
+
+  protected UserTombstone() {
+  }
+
+  public UserTombstone(UUID userId, String emailAddress, LocalDateTime deletedAt) {
+    this.userId = userId;
+    this.emailAddress = emailAddress;
+    this.deletedAt = deletedAt;
+  }
+
+  public UUID getUserId() {
+    return userId;
+  }
+
+  public String getEmailAddress() {
+    return emailAddress;
+  }
+
+  public LocalDateTime getDeletedAt() {
+    return deletedAt;
+  }
+
+  @Override
+  public UUID getId() {
+    return userId;
+  }
+
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.isNew = false;
+  }
+}
@@ -0,0 +1,17 @@
+package com.cloudcomputing.movieRetrievalWebApp.repository;
+
+import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Repository fragment for lookups by the email natural id. Implemented in
+ * UserNaturalIdRepoImpl so they resolve through the second-level cache instead of
+ * a derived JPQL query.
+ */
+public interface UserNaturalIdRepo {
+
+  @Transactional(readOnly = true)
+  Optional<User> findByEmailAddress(String emailAddress);
+}
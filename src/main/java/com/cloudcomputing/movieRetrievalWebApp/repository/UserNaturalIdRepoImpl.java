@@ -0,0 +1,23 @@
+package com.cloudcomputing.movieRetrievalWebApp.repository;
+
+import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+public class UserNaturalIdRepoImpl implements UserNaturalIdRepo {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public Optional<User> findByEmailAddress(String emailAddress) {
+    // Resolves email -> id from the natural-id region, then the entity from the users
+    // region; SQL is only issued on a miss.
+    return entityManager.unwrap(Session.class)
+        .bySimpleNaturalId(User.class)
+        .loadOptional(emailAddress);
+  }
+}
@@ -1,9 +1,72 @@
 package com.cloudcomputing.movieRetrievalWebApp.repository;
 
 import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserCredentials;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
 @Repository
-public interface UserRepo extends JpaRepository<User, Long> {
+public interface UserRepo extends JpaRepository<User, UUID>, UserNaturalIdRepo {
+
+  boolean existsByEmailAddress(String emailAddress);
+
+  // Keyset pagination over the primary key; user ids are time-ordered, so pages follow signup order.
+  @Query("select new com.cloudcomputing.movieRetrievalWebApp.model.UserSummary(u.userId, u.emailAddress, "
+      + "u.firstName, u.lastName, u.accountCreated, u.accountUpdated) from User u order by u.userId")
+  List<UserSummary> findSummaries(Limit limit);
+
+  @Query("select new com.cloudcomputing.movieRetrievalWebApp.model.UserSummary(u.userId, u.emailAddress, "
+      + "u.firstName, u.lastName, u.accountCreated, u.accountUpdated) from User u "
+      + "where u.userId > :after order by u.userId")
+  List<UserSummary> findSummariesAfter(@Param("after") UUID after, Limit limit);
+
+  // Change feed: seeks on idx_users_account_updated. The leading range keeps the scan on the
+  // index prefix; the OR only tie-breaks rows sharing the cursor's timestamp.
+  @Query("select new com.cloudcomputing.movieRetrievalWebApp.model.UserSummary(u.userId, u.emailAddress, "
+      + "u.firstName, u.lastName, u.accountCreated, u.accountUpdated) from User u "
+      + "where u.accountUpdated >= :since and u.accountUpdated <= :until "
+      + "and (u.accountUpdated > :since or u.userId > :after) "
+      + "order by u.accountUpdated, u.userId")
+  List<UserSummary> findSummariesChangedAfter(@Param("since") LocalDateTime since,
+                                              @Param("after") UUID after,
+                                              @Param("until") LocalDateTime until,
+                                              Limit limit);
+
+  // Range scan on idx_users_account_updated; new rows are stamped with account_updated too.
+  @Query("select u.emailAddress from User u where u.accountUpdated >= :since")
+  List<String> findEmailAddressesUpdatedSince(@Param("since") LocalDateTime since);
+
+  // One indexed IN lookup per import chunk instead of an existence check per row.
+  @Query("select u.emailAddress from User u where u.emailAddress in :emailAddresses")
+  List<String> findExistingEmailAddresses(@Param("emailAddresses") Collection<String> emailAddresses);
+
+  // Authentication hot path: only the credential columns, via the unique index on email_address.
+  // Always read from the database, never from the second-level cache, so a changed password or
+  // deleted user takes effect immediately.
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")})
+  @Query("select new com.cloudcomputing.movieRetrievalWebApp.model.UserCredentials(u.userId, u.emailAddress, u.password) "
+      + "from User u where u.emailAddress = :emailAddress")
+  Optional<UserCredentials> findCredentialsByEmailAddress(@Param("emailAddress") String emailAddress);
+
+  // Read-modify-write path: always reads the row, never the second-level cache, so the
+  // @Version check in the UPDATE or DELETE that follows compares against the committed
+  // version. The fresh row is written back to the cache.
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+  @Query("select u from User u where u.emailAddress = :emailAddress")
+  Optional<User> findCurrentByEmailAddress(@Param("emailAddress") String emailAddress);
 }
@@ -0,0 +1,26 @@
+package com.cloudcomputing.movieRetrievalWebApp.repository;
+
+import com.cloudcomputing.movieRetrievalWebApp.model.UserTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserTombstoneRepo extends JpaRepository<UserTombstone, UUID> {
+
+  // Same keyset shape as UserRepo.findSummariesChangedAfter, over idx_user_tombstones_deleted_at.
+  @Query("select t from UserTombstone t "
+      + "where t.deletedAt >= :since and t.deletedAt <= :until "
+      + "and (t.deletedAt > :since or t.userId > :after) "
+      + "order by t.deletedAt, t.userId")
+  List<UserTombstone> findDeletedAfter(@Param("since") LocalDateTime since,
+                                       @Param("after") UUID after,
+                                       @Param("until") LocalDateTime until,
+                                       Limit limit);
+}
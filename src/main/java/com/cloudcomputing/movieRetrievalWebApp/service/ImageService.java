@@ -2,6 +2,7 @@ package com.cloudcomputing.movieRetrievalWebApp.service;
 
 import com.cloudcomputing.movieRetrievalWebApp.dto.imagedto.ImageResponseDTO;
 import com.cloudcomputing.movieRetrievalWebApp.model.Image;
+import com.cloudcomputing.movieRetrievalWebApp.util.TimeOrderedUuidGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -24,7 +25,7 @@ public class ImageService {
   private S3Client s3Client;
 
   public ImageResponseDTO uploadImage(MultipartFile file, UUID userId) throws IOException {
-    UUID imageId = UUID.randomUUID();
+    UUID imageId = TimeOrderedUuidGenerator.next();
     String fileName = file.getOriginalFilename();
     String objectKey = userId + "/" + fileName;
 
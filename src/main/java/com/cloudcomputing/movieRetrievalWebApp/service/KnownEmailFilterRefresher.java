@@ -0,0 +1,108 @@
+package com.cloudcomputing.movieRetrievalWebApp.service;
+
+import com.cloudcomputing.movieRetrievalWebApp.cache.KnownEmailFilter;
+import com.cloudcomputing.movieRetrievalWebApp.dao.UserDAO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Loads the KnownEmailFilter once the application is up and keeps it current.
+ * UserService adds addresses registered through this instance directly; the
+ * incremental sync picks up those registered through other instances, re-reading
+ * an overlap window to cover commits that land after their timestamp. The sync
+ * reads the primary, and each completed sync tells the filter how current it is.
+ * A full rebuild drops deleted addresses and resizes the filter as the table grows;
+ * it may read a lagging replica, which the overlap of the following sync covers.
+ */
+@Component
+public class KnownEmailFilterRefresher {
+
+  private static final Logger LOGGER = Logger.getLogger(KnownEmailFilterRefresher.class.getName());
+
+  @Autowired
+  private KnownEmailFilter knownEmailFilter;
+
+  @Autowired
+  private UserDAO userDAO;
+
+  @Value("${app.auth.email-filter.enabled:true}")
+  private boolean enabled = true;
+
+  @Value("${app.auth.email-filter.sync-interval-ms:1000}")
+  private long syncIntervalMs = 1000;
+
+  @Value("${app.auth.email-filter.sync-overlap-seconds:30}")
+  private long syncOverlapSeconds = 30;
+
+  @Value("${app.auth.email-filter.rebuild-interval-minutes:60}")
+  private long rebuildIntervalMinutes = 60;
+
+  @Value("${app.auth.email-filter.fetch-size:1000}")
+  private int fetchSize = 1000;
+
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "known-email-filter");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private LocalDateTime lastSync;
+  private LocalDateTime lastRebuild;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled) {
+      LOGGER.info("Email filter disabled; every login falls through to the user lookup.");
+      return;
+    }
+    scheduler.scheduleWithFixedDelay(this::refresh, 0, syncIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  void refresh() {
+    try {
+      if (!knownEmailFilter.isReady() || knownEmailFilter.needsRebuild()
+          || lastRebuild.isBefore(LocalDateTime.now().minusMinutes(rebuildIntervalMinutes))) {
+        rebuild();
+      } else {
+        sync();
+      }
+    } catch (RuntimeException e) {
+      // Keep the schedule alive; an unready filter simply lets every lookup through.
+      LOGGER.warning("Email filter refresh failed: " + e.getMessage());
+    }
+  }
+
+  private void rebuild() {
+    LocalDateTime startedAt = LocalDateTime.now();
+    long knownCount = userDAO.countUsers();
+    knownEmailFilter.rebuild(knownCount, consumer -> userDAO.streamEmails(fetchSize, consumer));
+    lastSync = startedAt;
+    lastRebuild = startedAt;
+  }
+
+  private void sync() {
+    long startedAtMillis = System.currentTimeMillis();
+    LocalDateTime startedAt = LocalDateTime.now();
+    List<String> emails = userDAO.getEmailsUpdatedSince(lastSync.minus(Duration.ofSeconds(syncOverlapSeconds)));
+    emails.forEach(knownEmailFilter::add);
+    lastSync = startedAt;
+    knownEmailFilter.markSynced(startedAtMillis);
+  }
+}
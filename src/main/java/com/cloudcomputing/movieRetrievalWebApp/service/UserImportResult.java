@@ -0,0 +1,21 @@
+package com.cloudcomputing.movieRetrievalWebApp.service;
+
+import com.cloudcomputing.movieRetrievalWebApp.model.User;
+
+/**
+ * Outcome of importing one row of a bulk request: the saved user, or why it was rejected.
+ */
+public record UserImportResult(User user, String error) {
+
+  public static UserImportResult created(User user) {
+    return new UserImportResult(user, null);
+  }
+
+  public static UserImportResult failed(String error) {
+    return new UserImportResult(null, error);
+  }
+
+  public boolean isCreated() {
+    return error == null;
+  }
+}
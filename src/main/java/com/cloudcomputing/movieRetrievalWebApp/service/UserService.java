@@ -1,13 +1,32 @@
 package com.cloudcomputing.movieRetrievalWebApp.service;
 
+import com.cloudcomputing.movieRetrievalWebApp.cache.CredentialCache;
+import com.cloudcomputing.movieRetrievalWebApp.cache.KnownEmailFilter;
+import com.cloudcomputing.movieRetrievalWebApp.cache.UserCache;
+import com.cloudcomputing.movieRetrievalWebApp.cache.UserResponseCache;
+import com.cloudcomputing.movieRetrievalWebApp.config.BoundedPasswordEncoder;
+import com.cloudcomputing.movieRetrievalWebApp.config.HashingCapacityExceededException;
 import com.cloudcomputing.movieRetrievalWebApp.dao.UserDAO;
 import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserChange;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserChangeCursor;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserCredentials;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserSummary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class UserService {
@@ -18,34 +37,199 @@ public class UserService {
   @Autowired
   private PasswordEncoder passwordEncoder; // Inject the password encoder
 
+  @Autowired
+  private UserCache userCache;
+
+  @Autowired
+  private CredentialCache credentialCache;
+
+  @Autowired
+  private KnownEmailFilter knownEmailFilter;
+
+  @Autowired
+  private UserResponseCache userResponseCache;
+
+  @Value("${app.user.batch.chunk-size:500}")
+  private int batchChunkSize = 500;
+
+  @Value("${app.admin.changes.settle-millis:5000}")
+  private long changeFeedSettleMillis = 5000;
+
+  /**
+   * @deprecated materializes every user; use {@link #getUserPage} or {@link #exportUsers}.
+   */
+  @Deprecated
   public List<User> getAllUsers() {
     return userDAO.getAllUsers();
   }
 
-  public Optional<User> getUserById(Long id) {
-    return userDAO.getUserById(id);
+  public List<UserSummary> getUserPage(UUID after, int limit) {
+    return userDAO.getUserPage(after, limit);
+  }
+
+  public void exportUsers(int fetchSize, Consumer<UserSummary> consumer) {
+    userDAO.streamUsers(fetchSize, consumer);
+  }
+
+  /**
+   * Returns the next page of creates, updates and deletes after {@code cursor}. Changes
+   * younger than the settle window are held back: their timestamps are taken before
+   * commit, so a newer row could otherwise become visible behind a cursor already handed out.
+   */
+  public List<UserChange> getUserChanges(UserChangeCursor cursor, int limit) {
+    LocalDateTime until = LocalDateTime.now().minus(Duration.ofMillis(changeFeedSettleMillis));
+    return userDAO.getChangesAfter(cursor, until, limit);
+  }
+
+  public Optional<User> getUserById(UUID id) {
+    return userCache.getById(id, userDAO::getUserById);
   }
 
   public Optional<User> getUserByEmail(String email) {
-    return userDAO.getAllUsers().stream()
-        .filter(user -> user.getEmailAddress().equals(email))
-        .findFirst();
+    return userCache.getByEmail(email, userDAO::getUserByEmail);
+  }
+
+  public Optional<User> getCachedUserByEmail(String email) {
+    return userCache.peekByEmail(email);
+  }
+
+  public Optional<UserCredentials> getCredentialsByEmail(String email) {
+    return userDAO.getCredentialsByEmail(email);
   }
 
   public User addUser(User user) {
     // Hash the password before saving
     user.setPassword(passwordEncoder.encode(user.getPassword()));
-    return userDAO.createUser(user);
+    User savedUser = userDAO.createUser(user);
+    userCache.put(savedUser);
+    knownEmailFilter.add(savedUser.getEmailAddress());
+    return savedUser;
   }
 
-  public User updateUser(String email, User user) {
-    if (user.getPassword() != null) {
-      user.setPassword(passwordEncoder.encode(user.getPassword()));
+  /**
+   * Imports many users in one call. Duplicates within the request and existing emails
+   * are rejected before any hashing. Passwords are hashed in parallel, and rows are
+   * inserted in batched chunks. If a chunk fails (e.g. a concurrent signup took an
+   * email), its rows are retried one by one so each failure is reported against its row.
+   * If the hashing pool is saturated, the remaining rows are reported as failed and
+   * earlier chunks stay committed.
+   *
+   * @param users users carrying plaintext passwords, in request order.
+   * @return one result per input user, in the same order.
+   */
+  public List<UserImportResult> addUsers(List<User> users) {
+    UserImportResult[] results = new UserImportResult[users.size()];
+
+    // Reject repeated emails within the request; only the first occurrence is imported.
+    Set<String> seenEmails = new HashSet<>();
+    List<Integer> pending = new ArrayList<>();
+    for (int i = 0; i < users.size(); i++) {
+      if (seenEmails.add(users.get(i).getEmailAddress())) {
+        pending.add(i);
+      } else {
+        results[i] = UserImportResult.failed("Duplicate email in request.");
+      }
+    }
+
+    for (int start = 0; start < pending.size(); start += batchChunkSize) {
+      List<Integer> chunk = pending.subList(start, Math.min(start + batchChunkSize, pending.size()));
+      try {
+        importChunk(users, chunk, results);
+      } catch (HashingCapacityExceededException e) {
+        // Earlier chunks are already committed, so failing the whole request would hide
+        // which rows were created. Report this chunk and the rest as failed instead; nothing
+        // of this chunk was written, since hashing happens before the insert.
+        String error = "Password hashing capacity exceeded; retry this row after "
+            + e.getRetryAfterSeconds() + " seconds.";
+        for (Integer i : pending.subList(start, pending.size())) {
+          if (results[i] == null) {
+            results[i] = UserImportResult.failed(error);
+          }
+        }
+        break;
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  private void importChunk(List<User> users, List<Integer> chunk, UserImportResult[] results) {
+    List<String> emails = chunk.stream().map(i -> users.get(i).getEmailAddress()).toList();
+    Set<String> existingEmails = userDAO.findExistingEmails(emails);
+
+    List<Integer> toInsert = new ArrayList<>(chunk.size());
+    for (Integer i : chunk) {
+      if (existingEmails.contains(users.get(i).getEmailAddress())) {
+        results[i] = UserImportResult.failed("User with this email already exists.");
+      } else {
+        toInsert.add(i);
+      }
+    }
+    if (toInsert.isEmpty()) {
+      return;
+    }
+
+    List<String> hashes = encodeAll(toInsert.stream().map(i -> users.get(i).getPassword()).toList());
+    List<User> newUsers = new ArrayList<>(toInsert.size());
+    for (int j = 0; j < toInsert.size(); j++) {
+      User user = users.get(toInsert.get(j));
+      newUsers.add(new User(user.getEmailAddress(), hashes.get(j), user.getFirstName(), user.getLastName()));
+    }
+
+    try {
+      List<User> savedUsers = userDAO.createUsers(newUsers);
+      for (int j = 0; j < toInsert.size(); j++) {
+        results[toInsert.get(j)] = UserImportResult.created(savedUsers.get(j));
+        knownEmailFilter.add(savedUsers.get(j).getEmailAddress());
+      }
+    } catch (RuntimeException e) {
+      // The chunk was rolled back; insert row by row (fresh entities) to isolate the failures.
+      for (int j = 0; j < toInsert.size(); j++) {
+        User failedUser = newUsers.get(j);
+        User retry = new User(failedUser.getEmailAddress(), failedUser.getPassword(),
+            failedUser.getFirstName(), failedUser.getLastName());
+        try {
+          results[toInsert.get(j)] = UserImportResult.created(userDAO.createUser(retry));
+          knownEmailFilter.add(retry.getEmailAddress());
+        } catch (RuntimeException rowFailure) {
+          results[toInsert.get(j)] = UserImportResult.failed(rowFailure.getMessage());
+        }
+      }
+    }
+  }
+
+  private List<String> encodeAll(List<String> rawPasswords) {
+    if (passwordEncoder instanceof BoundedPasswordEncoder boundedPasswordEncoder) {
+      return boundedPasswordEncoder.encodeAll(rawPasswords);
+    }
+    return rawPasswords.stream().map(passwordEncoder::encode).toList();
+  }
+
+  public User updateUser(String email, User changes) {
+    User existingUser = getUserByEmail(email)
+        .orElseThrow(() -> new IllegalArgumentException("User with email " + email + " not found."));
+
+    // Only a newly supplied plaintext password is hashed.
+    if (changes.getPassword() != null) {
+      changes.setPassword(passwordEncoder.encode(changes.getPassword()));
+      // Credentials verified against the old password must not keep authenticating.
+      credentialCache.invalidate(email);
     }
-    return userDAO.updateUser(email, user);
+    // Drop the cached copy first so a failed write never leaves a stale entry behind.
+    userCache.invalidate(email);
+    userResponseCache.invalidate(existingUser.getUserId());
+    // The DAO applies the changes to a fresh read, and skips the write if that read already
+    // holds them, so a stale cached copy is harmless; a real conflict surfaces as
+    // OptimisticLockingFailureException.
+    User updatedUser = userDAO.updateUser(existingUser, changes);
+    userCache.put(updatedUser);
+    return updatedUser;
   }
 
   public void deleteUser(String email) {
     userDAO.deleteUser(email);
+    userCache.peekByEmail(email).ifPresent(user -> userResponseCache.invalidate(user.getUserId()));
+    userCache.invalidate(email);
+    credentialCache.invalidate(email);
+    knownEmailFilter.remove(email);
   }
 }
@@ -0,0 +1,53 @@
+package com.cloudcomputing.movieRetrievalWebApp.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates time-ordered, UUIDv7-style identifiers (RFC 9562).
+ *
+ * Layout: 48-bit Unix epoch milliseconds, version 7, a 12-bit counter, the IETF
+ * variant and 62 random bits. Ids from one node are strictly increasing, so new rows
+ * land at the right edge of the clustered primary-key index instead of splitting
+ * random pages. The 62 random bits keep ids from different nodes apart.
+ */
+public final class TimeOrderedUuidGenerator {
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private static final int COUNTER_BITS = 12;
+  private static final int COUNTER_MAX = (1 << COUNTER_BITS) - 1;
+  // Seeding the counter in the lower half of its range leaves room to increment.
+  private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+
+  private static long lastMillis = -1;
+  private static int counter;
+
+  private TimeOrderedUuidGenerator() {
+  }
+
+  public static UUID next() {
+    long millis;
+    int sequence;
+    synchronized (TimeOrderedUuidGenerator.class) {
+      long now = System.currentTimeMillis();
+      if (now > lastMillis) {
+        lastMillis = now;
+        counter = RANDOM.nextInt(COUNTER_SEED_BOUND);
+      } else if (counter < COUNTER_MAX) {
+        // Same millisecond, or the clock stepped back: keep the last timestamp.
+        counter++;
+      } else {
+        // Counter exhausted: borrow the next millisecond to stay monotonic.
+        lastMillis++;
+        counter = RANDOM.nextInt(COUNTER_SEED_BOUND);
+      }
+      millis = lastMillis;
+      sequence = counter;
+    }
+
+    long mostSigBits = (millis << 16) | 0x7000L | sequence;
+    long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+}
@@ -0,0 +1,116 @@
+package com.cloudcomputing.movieRetrievalWebApp.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserCreateDTO;
+import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserUpdateDTO;
+
+/**
+ * Validates user request bodies. The rules for each request shape are built once and
+ * run in order, stopping at the first violation.
+ */
+@Component
+public class UserRequestValidator {
+
+  // Characters allowed on each side of the '@', indexed by ASCII code. Together they
+  // accept exactly what ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$ accepts.
+  private static final boolean[] LOCAL_PART_CHARS = asciiAlphanumericsAnd("+_.-");
+  private static final boolean[] DOMAIN_CHARS = asciiAlphanumericsAnd(".-");
+
+  // POST /v1/user
+  private final List<Function<UserCreateDTO, ValidationResult>> signupRules = List.of(
+      dto -> checkEmail(dto.getEmailAddress()),
+      dto -> isEmpty(dto.getPassword()) ? ValidationResult.PASSWORD_MISSING : ValidationResult.VALID);
+
+  // Rows of POST /v1/user/batch also need a first name.
+  private final List<Function<UserCreateDTO, ValidationResult>> importRules = withRule(signupRules,
+      dto -> dto.getFirstName() == null || dto.getFirstName().isBlank()
+          ? ValidationResult.FIRST_NAME_MISSING : ValidationResult.VALID);
+
+  // PUT /v1/user/self; empty values are treated as absent when the update is applied.
+  private final List<Function<UserUpdateDTO, ValidationResult>> updateRules = List.of(
+      dto -> dto.hasFields() ? ValidationResult.VALID : ValidationResult.NO_FIELDS);
+
+  public ValidationResult validateSignup(UserCreateDTO userCreateDTO) {
+    return apply(signupRules, userCreateDTO);
+  }
+
+  public ValidationResult validateImport(UserCreateDTO userCreateDTO) {
+    return apply(importRules, userCreateDTO);
+  }
+
+  public ValidationResult validateUpdate(UserUpdateDTO userUpdateDTO) {
+    return apply(updateRules, userUpdateDTO);
+  }
+
+  /**
+   * Single left-to-right pass over the address: one '@' with at least one allowed
+   * character on each side. Runs in linear time whatever the input.
+   *
+   * @param email The address to check; must not be null.
+   * @return Whether the address is well-formed.
+   */
+  public static boolean isValidEmail(String email) {
+    int length = email.length();
+    int at = -1;
+    for (int i = 0; i < length; i++) {
+      char c = email.charAt(i);
+      if (c == '@') {
+        if (at >= 0 || i == 0) {
+          return false;
+        }
+        at = i;
+      } else if (c >= 128 || !(at < 0 ? LOCAL_PART_CHARS : DOMAIN_CHARS)[c]) {
+        return false;
+      }
+    }
+    return at > 0 && at < length - 1;
+  }
+
+  private static ValidationResult checkEmail(String email) {
+    if (email == null) {
+      return ValidationResult.EMAIL_MISSING;
+    }
+    return isValidEmail(email) ? ValidationResult.VALID : ValidationResult.EMAIL_INVALID;
+  }
+
+  private static boolean isEmpty(String value) {
+    return value == null || value.isEmpty();
+  }
+
+  private static <T> ValidationResult apply(List<Function<T, ValidationResult>> rules, T dto) {
+    for (int i = 0; i < rules.size(); i++) {
+      ValidationResult result = rules.get(i).apply(dto);
+      if (!result.isValid()) {
+        return result;
+      }
+    }
+    return ValidationResult.VALID;
+  }
+
+  private static <T> List<Function<T, ValidationResult>> withRule(List<Function<T, ValidationResult>> rules,
+                                                                  Function<T, ValidationResult> rule) {
+    List<Function<T, ValidationResult>> extended = new ArrayList<>(rules);
+    extended.add(rule);
+    return List.copyOf(extended);
+  }
+
+  private static boolean[] asciiAlphanumericsAnd(String extra) {
+    boolean[] allowed = new boolean[128];
+    for (char c = 'a'; c <= 'z'; c++) {
+      allowed[c] = true;
+      allowed[Character.toUpperCase(c)] = true;
+    }
+    for (char c = '0'; c <= '9'; c++) {
+      allowed[c] = true;
+    }
+    for (int i = 0; i < extra.length(); i++) {
+      allowed[extra.charAt(i)] = true;
+    }
+    return allowed;
+  }
+}
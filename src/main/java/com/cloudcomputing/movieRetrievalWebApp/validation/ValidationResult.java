@@ -0,0 +1,33 @@
+package com.cloudcomputing.movieRetrievalWebApp.validation;
+
+/**
+ * Outcome of validating a user request. Each outcome is a shared constant, so a check
+ * allocates nothing and callers compare or report the result without building messages.
+ */
+public enum ValidationResult {
+
+  VALID(null),
+  EMAIL_MISSING("Email address is required."),
+  EMAIL_INVALID("Email address is not valid."),
+  PASSWORD_MISSING("Password is required."),
+  FIRST_NAME_MISSING("First name is required."),
+  NO_FIELDS("Request body contains no fields to update.");
+
+  private final String message;
+
+  ValidationResult(String message) {
+    this.message = message;
+  }
+
+  public boolean isValid() {
+    return this == VALID;
+  }
+
+  /**
+   * @return A client-safe description of the violation, or null when valid. It never
+   *         echoes the submitted values.
+   */
+  public String getMessage() {
+    return message;
+  }
+}
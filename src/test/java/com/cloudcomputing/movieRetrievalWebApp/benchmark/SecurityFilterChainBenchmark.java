@@ -0,0 +1,79 @@
+package com.cloudcomputing.movieRetrievalWebApp.benchmark;
+
+import com.cloudcomputing.movieRetrievalWebApp.MovieRetrievalWebAppApplication;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the application's Spring Security filter chain, with the
+ * servlet behind it replaced by a no-op. "/healthz" is exempted from the chain;
+ * "/v1/users/probe" is permitAll() and so still runs every security filter. The
+ * difference is what each load-balancer probe saves.
+ *
+ * Run with: java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *   com.cloudcomputing.movieRetrievalWebApp.benchmark.SecurityFilterChainBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SecurityFilterChainBenchmark {
+
+  private static final FilterChain SERVLET = (request, response) -> { };
+
+  @Param({"/healthz", "/v1/users/probe"})
+  private String path;
+
+  private ConfigurableApplicationContext context;
+  private Filter springSecurityFilterChain;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new SpringApplicationBuilder(MovieRetrievalWebAppApplication.class)
+        .properties(
+            "server.port=0",
+            "logging.level.root=WARN",
+            // Keep the limiter from short-circuiting the measured requests.
+            "app.ratelimit.ip.requests-per-second=1000000000",
+            "app.ratelimit.ip.burst=1000000000",
+            "app.auth.email-filter.enabled=false")
+        .run();
+    springSecurityFilterChain = context.getBean("springSecurityFilterChain", Filter.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public MockHttpServletResponse request() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+    request.setServletPath(path);
+    request.setRemoteAddr("10.0.0.1");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    springSecurityFilterChain.doFilter(request, response, SERVLET);
+    return response;
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    new Runner(new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(SecurityFilterChainBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
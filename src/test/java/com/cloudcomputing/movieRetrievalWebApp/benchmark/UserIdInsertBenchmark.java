@@ -0,0 +1,101 @@
+package com.cloudcomputing.movieRetrievalWebApp.benchmark;
+
+import com.cloudcomputing.movieRetrievalWebApp.util.TimeOrderedUuidGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bulk-inserts users keyed by random (v4) and time-ordered (v7) ids into a table
+ * pre-filled with existing rows, so the cost of scattering keys across the
+ * primary-key B-tree shows up. Point the JDBC URL at MySQL to measure InnoDB itself.
+ *
+ * Run with: java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *   com.cloudcomputing.movieRetrievalWebApp.benchmark.UserIdInsertBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UserIdInsertBenchmark {
+
+  private static final int BATCH_SIZE = 1_000;
+
+  @Param({"200000"})
+  private int existingRows;
+
+  @Param({"random", "time-ordered"})
+  private String generator;
+
+  @Param({"jdbc:h2:mem:uuid_bench;DB_CLOSE_DELAY=-1"})
+  private String jdbcUrl;
+
+  private Connection connection;
+  private Supplier<UUID> ids;
+
+  @Setup(Level.Iteration)
+  public void setUp() throws SQLException {
+    ids = "random".equals(generator) ? UUID::randomUUID : TimeOrderedUuidGenerator::next;
+    connection = DriverManager.getConnection(jdbcUrl);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS users_bench");
+      statement.execute("CREATE TABLE users_bench (user_id BINARY(16) PRIMARY KEY, email_address VARCHAR(255))");
+    }
+    insert(existingRows);
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() throws SQLException {
+    connection.close();
+  }
+
+  @Benchmark
+  public void bulkInsert() throws SQLException {
+    insert(BATCH_SIZE);
+  }
+
+  private void insert(int rows) throws SQLException {
+    try (PreparedStatement statement =
+             connection.prepareStatement("INSERT INTO users_bench (user_id, email_address) VALUES (?, ?)")) {
+      for (int i = 1; i <= rows; i++) {
+        UUID id = ids.get();
+        statement.setBytes(1, toBytes(id));
+        statement.setString(2, id + "@example.com");
+        statement.addBatch();
+        if (i % BATCH_SIZE == 0) {
+          statement.executeBatch();
+        }
+      }
+      statement.executeBatch();
+    }
+  }
+
+  private static byte[] toBytes(UUID id) {
+    return ByteBuffer.allocate(16)
+        .putLong(id.getMostSignificantBits())
+        .putLong(id.getLeastSignificantBits())
+        .array();
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    new Runner(new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(UserIdInsertBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,71 @@
+package com.cloudcomputing.movieRetrievalWebApp.benchmark;
+
+import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserCreateDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a POST /v1/user body into a UserCreateDTO. "mapThenConvert" is the
+ * old path: the message converter parses into a Map, the controller checks the keys and
+ * converts with a freshly built ObjectMapper. "typedStrict" is the current path: one
+ * parse straight into the DTO with the shared mapper, unknown fields failing the parse.
+ *
+ * Run with: java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *   com.cloudcomputing.movieRetrievalWebApp.benchmark.UserRequestBindingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UserRequestBindingBenchmark {
+
+  private static final Set<String> EXPECTED_FIELDS = Set.of("emailAddress", "password", "firstName", "lastName");
+  private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() { };
+
+  private final byte[] body = ("{\"emailAddress\":\"jane.doe@example.com\",\"password\":\"s3cret-Passw0rd\","
+      + "\"firstName\":\"Jane\",\"lastName\":\"Doe\"}").getBytes(StandardCharsets.UTF_8);
+
+  // Stands in for the application's shared mapper in both paths.
+  private final ObjectMapper sharedMapper = new ObjectMapper()
+      .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  private final ObjectReader strictReader = new ObjectMapper()
+      .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+      .readerFor(UserCreateDTO.class);
+
+  @Benchmark
+  public UserCreateDTO mapThenConvert() throws IOException {
+    Map<String, Object> requestBodyMap = sharedMapper.readValue(body, MAP_TYPE);
+    if (!EXPECTED_FIELDS.containsAll(requestBodyMap.keySet())) {
+      throw new IllegalArgumentException("Request body contains extra or invalid fields.");
+    }
+    return new ObjectMapper().convertValue(requestBodyMap, UserCreateDTO.class);
+  }
+
+  @Benchmark
+  public UserCreateDTO typedStrict() throws IOException {
+    return strictReader.readValue(body);
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    new Runner(new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(UserRequestBindingBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,74 @@
+package com.cloudcomputing.movieRetrievalWebApp.benchmark;
+
+import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserCreateDTO;
+import com.cloudcomputing.movieRetrievalWebApp.validation.UserRequestValidator;
+import com.cloudcomputing.movieRetrievalWebApp.validation.ValidationResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Cost of validating a signup body. "regexPerCall" is the old check: the email pattern
+ * compiled on every request, then a password check. "precompiledRegex" hoists the
+ * compile out. "validator" is UserRequestValidator with its single-pass email check.
+ * The "email" parameter includes a long malformed address to show worst-case input.
+ *
+ * Run with: java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *   com.cloudcomputing.movieRetrievalWebApp.benchmark.UserRequestValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UserRequestValidationBenchmark {
+
+  private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$";
+  private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX);
+
+  @Param({"jane.doe@example.com", "not-an-email",
+      "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa@example.com!"})
+  public String email;
+
+  private final UserRequestValidator validator = new UserRequestValidator();
+  private UserCreateDTO body;
+
+  @Setup
+  public void setUp() {
+    body = new UserCreateDTO();
+    body.setEmailAddress(email);
+    body.setPassword("s3cret-Passw0rd");
+    body.setFirstName("Jane");
+  }
+
+  @Benchmark
+  public boolean regexPerCall() {
+    return Pattern.compile(EMAIL_REGEX).matcher(body.getEmailAddress()).matches()
+        && body.getPassword() != null && !body.getPassword().isEmpty();
+  }
+
+  @Benchmark
+  public boolean precompiledRegex() {
+    return EMAIL_PATTERN.matcher(body.getEmailAddress()).matches()
+        && body.getPassword() != null && !body.getPassword().isEmpty();
+  }
+
+  @Benchmark
+  public ValidationResult validator() {
+    return validator.validateSignup(body);
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    new Runner(new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(UserRequestValidationBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,103 @@
+package com.cloudcomputing.movieRetrievalWebApp.cache;
+
+import com.timgroup.statsd.NoOpStatsDClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KnownEmailFilterTest {
+
+  @Test
+  public void bloomFilter_hasNoFalseNegativesAndStaysNearTargetRate() {
+    EmailBloomFilter filter = new EmailBloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("user" + i + "@example.com");
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 10_000; i++) {
+      assertTrue(filter.mightContain("user" + i + "@example.com"));
+      if (filter.mightContain("stranger" + i + "@example.com")) {
+        falsePositives++;
+      }
+    }
+
+    assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    assertTrue(filter.expectedFalsePositiveRate() < 0.02);
+  }
+
+  @Test
+  public void mightExist_letsEverythingThroughUntilBuilt() {
+    KnownEmailFilter filter = new KnownEmailFilter(100, 0.01, 3000, new NoOpStatsDClient());
+
+    assertFalse(filter.isReady());
+    assertTrue(filter.mightExist("anyone@example.com"));
+  }
+
+  @Test
+  public void mightExist_rejectsUnknownAfterRebuildAndIgnoresCase() {
+    KnownEmailFilter filter = new KnownEmailFilter(100, 0.01, 3000, new NoOpStatsDClient());
+    filter.rebuild(1, consumer -> consumer.accept("known@example.com"));
+    filter.add("new@example.com");
+    filter.markSynced(System.currentTimeMillis());
+
+    assertTrue(filter.mightExist("known@example.com"));
+    assertTrue(filter.mightExist("Known@Example.com"));
+    assertTrue(filter.mightExist("new@example.com"));
+    assertFalse(filter.mightExist("unknown@example.com"));
+  }
+
+  @Test
+  public void mightExist_doesNotTrustMissesUntilSyncedAndWhileStale() {
+    KnownEmailFilter filter = new KnownEmailFilter(100, 0.01, 3000, new NoOpStatsDClient());
+    filter.rebuild(1, consumer -> consumer.accept("known@example.com"));
+
+    // Freshly rebuilt: a signup on another instance may not be in the source yet.
+    assertTrue(filter.mightExist("unknown@example.com"));
+
+    filter.markSynced(System.currentTimeMillis());
+    assertFalse(filter.mightExist("unknown@example.com"));
+
+    filter.markSynced(System.currentTimeMillis() - 10_000);
+    assertTrue(filter.mightExist("unknown@example.com"));
+
+    filter.markSynced(System.currentTimeMillis());
+    filter.rebuild(1, consumer -> consumer.accept("known@example.com"));
+    assertTrue(filter.mightExist("unknown@example.com"));
+  }
+
+  @Test
+  public void rebuild_keepsAdditionsMadeWhileStreaming() {
+    KnownEmailFilter filter = new KnownEmailFilter(100, 0.01, 3000, new NoOpStatsDClient());
+    filter.rebuild(0, consumer -> { });
+
+    filter.rebuild(2, consumer -> {
+      consumer.accept("first@example.com");
+      // Registered concurrently, after the stream has passed its position.
+      filter.add("concurrent@example.com");
+      consumer.accept("second@example.com");
+    });
+
+    for (String email : List.of("first@example.com", "second@example.com", "concurrent@example.com")) {
+      assertTrue(filter.mightExist(email), email);
+    }
+  }
+
+  @Test
+  public void needsRebuild_afterManyDeletions() {
+    KnownEmailFilter filter = new KnownEmailFilter(100, 0.01, 3000, new NoOpStatsDClient());
+    filter.rebuild(10, consumer -> {
+      for (int i = 0; i < 10; i++) {
+        consumer.accept("user" + i + "@example.com");
+      }
+    });
+    assertFalse(filter.needsRebuild());
+
+    filter.remove("user0@example.com");
+    filter.remove("user1@example.com");
+
+    assertTrue(filter.needsRebuild());
+  }
+}
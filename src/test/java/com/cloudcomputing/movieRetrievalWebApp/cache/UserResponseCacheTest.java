@@ -0,0 +1,64 @@
+package com.cloudcomputing.movieRetrievalWebApp.cache;
+
+import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.timgroup.statsd.NoOpStatsDClient;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserResponseCacheTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final UserResponseCache cache = new UserResponseCache(objectMapper, 100, 60, new NoOpStatsDClient());
+  private final AtomicInteger renders = new AtomicInteger();
+  private final Function<User, ?> renderer = user -> {
+    renders.incrementAndGet();
+    return Map.of("first_name", user.getFirstName());
+  };
+
+  @Test
+  public void get_servesSameBytesForSameVersion() throws Exception {
+    User user = new User("jane@example.com", "hash", "Jane", "Doe");
+
+    byte[] first = cache.get(user, renderer);
+    byte[] second = cache.get(user, renderer);
+
+    assertSame(first, second);
+    assertEquals(1, renders.get());
+    assertEquals("Jane", objectMapper.readTree(first).get("first_name").asText());
+  }
+
+  @Test
+  public void get_rerendersNewVersionAndKeepsNewestForStaleReaders() throws Exception {
+    User original = new User("jane@example.com", "hash", "Jane", "Doe");
+    User changes = new User();
+    changes.setFirstName("Janet");
+    User updated = original.withChanges(changes, LocalDateTime.now());
+
+    cache.get(original, renderer);
+    byte[] updatedJson = cache.get(updated, renderer);
+    byte[] staleJson = cache.get(original, renderer);
+
+    assertEquals("Janet", objectMapper.readTree(updatedJson).get("first_name").asText());
+    assertEquals("Jane", objectMapper.readTree(staleJson).get("first_name").asText());
+    assertSame(updatedJson, cache.get(updated, renderer));
+    assertEquals(3, renders.get());
+  }
+
+  @Test
+  public void invalidate_forcesRerender() {
+    User user = new User("jane@example.com", "hash", "Jane", "Doe");
+    cache.get(user, renderer);
+
+    cache.invalidate(user.getUserId());
+    cache.get(user, renderer);
+
+    assertEquals(2, renders.get());
+  }
+}
@@ -0,0 +1,61 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessTokenServiceTest {
+
+  private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+  private final User user = new User("test@example.com", "hashedPassword", "John", "Doe");
+
+  @Test
+  void issuedToken_verifiesToSameUser() {
+    AccessTokenService service = serviceAt(NOW);
+
+    Optional<AccessTokenClaims> claims = service.verify(service.issue(user));
+
+    assertTrue(claims.isPresent());
+    assertEquals(user.getUserId(), claims.get().getUserId());
+    assertEquals("test@example.com", claims.get().getName());
+    assertEquals(NOW.plusSeconds(900), claims.get().getExpiresAt());
+  }
+
+  @Test
+  void expiredToken_isRejected() {
+    String token = serviceAt(NOW).issue(user);
+
+    assertTrue(serviceAt(NOW.plusSeconds(900)).verify(token).isEmpty());
+  }
+
+  @Test
+  void tamperedToken_isRejected() {
+    AccessTokenService service = serviceAt(NOW);
+    String token = service.issue(user);
+    String forgedPayload = java.util.Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(("v1|" + user.getUserId() + "|9999999999|admin@example.com").getBytes());
+
+    assertTrue(service.verify(forgedPayload + token.substring(token.indexOf('.'))).isEmpty());
+    assertTrue(service.verify("not-a-token").isEmpty());
+    assertTrue(service.verify("a.b.c").isEmpty());
+  }
+
+  @Test
+  void tokenSignedWithAnotherSecret_isRejected() {
+    String token = serviceAt(NOW).issue(user);
+    AccessTokenService other = new AccessTokenService("another-secret", 900, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    assertTrue(other.verify(token).isEmpty());
+  }
+
+  private AccessTokenService serviceAt(Instant instant) {
+    return new AccessTokenService("test-secret", 900, Clock.fixed(instant, ZoneOffset.UTC));
+  }
+}
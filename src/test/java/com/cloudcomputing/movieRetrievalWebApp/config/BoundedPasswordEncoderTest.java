@@ -0,0 +1,97 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.timgroup.statsd.NoOpStatsDClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+  private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+    @Override
+    public String encode(CharSequence rawPassword) {
+      started.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return "hashed-" + rawPassword;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      return encodedPassword.equals("hashed-" + rawPassword);
+    }
+  };
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    callers.shutdownNow();
+  }
+
+  @Test
+  void encodeAndMatches_delegateToWrappedEncoder() {
+    release.countDown();
+    BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder, 1, 1, 1000, 1, new NoOpStatsDClient());
+
+    assertEquals("hashed-secret", encoder.encode("secret"));
+    assertTrue(encoder.matches("secret", "hashed-secret"));
+    encoder.shutdown();
+  }
+
+  @Test
+  void encodeAll_hashesEveryPasswordInOrderWithoutFillingQueue() {
+    release.countDown();
+    // A queue of one would reject a plain burst of 100 submissions.
+    BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder, 2, 1, 1000, 1, new NoOpStatsDClient());
+    List<String> passwords = IntStream.range(0, 100).mapToObj(i -> "secret" + i).toList();
+
+    List<String> hashes = encoder.encodeAll(passwords);
+
+    assertEquals(100, hashes.size());
+    assertEquals("hashed-secret0", hashes.get(0));
+    assertEquals("hashed-secret99", hashes.get(99));
+    encoder.shutdown();
+  }
+
+  @Test
+  void fullQueue_rejectsImmediatelyWithRetryAfter() throws Exception {
+    BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder, 1, 1, 5000, 2, new NoOpStatsDClient());
+
+    // One call occupies the only hashing thread, a second fills the queue.
+    callers.submit(() -> encoder.encode("first"));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    callers.submit(() -> encoder.encode("second"));
+    while (encoder.getQueueDepth() < 1) {
+      Thread.sleep(5);
+    }
+
+    HashingCapacityExceededException e = assertThrows(HashingCapacityExceededException.class,
+        () -> encoder.encode("third"));
+    assertEquals(2, e.getRetryAfterSeconds());
+    encoder.shutdown();
+  }
+
+  @Test
+  void slowHash_timesOut() {
+    BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder, 1, 1, 50, 1, new NoOpStatsDClient());
+
+    assertThrows(HashingCapacityExceededException.class, () -> encoder.encode("slow"));
+    encoder.shutdown();
+  }
+}
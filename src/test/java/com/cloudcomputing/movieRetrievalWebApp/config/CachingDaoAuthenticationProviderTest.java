@@ -0,0 +1,88 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.cloudcomputing.movieRetrievalWebApp.cache.CredentialCache;
+import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import com.timgroup.statsd.NoOpStatsDClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CachingDaoAuthenticationProviderTest {
+
+  private PasswordEncoder passwordEncoder;
+  private CredentialCache credentialCache;
+  private User user;
+  private CachingDaoAuthenticationProvider provider;
+
+  @BeforeEach
+  void setUp() {
+    passwordEncoder = mock(PasswordEncoder.class);
+    when(passwordEncoder.matches("password123", "hashedPassword")).thenReturn(true);
+
+    user = new User("test@example.com", "hashedPassword", "John", "Doe");
+    UserDetailsService userDetailsService = email -> new AuthenticatedUser(user);
+
+    credentialCache = new CredentialCache(100, 60, new NoOpStatsDClient());
+    provider = new CachingDaoAuthenticationProvider(credentialCache);
+    provider.setUserDetailsService(userDetailsService);
+    provider.setPasswordEncoder(passwordEncoder);
+  }
+
+  @Test
+  void repeatAuthentication_skipsPasswordEncoder() {
+    provider.authenticate(token("password123"));
+    Authentication result = provider.authenticate(token("password123"));
+
+    assertTrue(result.isAuthenticated());
+    verify(passwordEncoder, times(1)).matches("password123", "hashedPassword");
+  }
+
+  @Test
+  void wrongPassword_isNeverCached() {
+    assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("wrong")));
+    assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("wrong")));
+
+    verify(passwordEncoder, times(2)).matches("wrong", "hashedPassword");
+  }
+
+  @Test
+  void cachedEntry_onlyMatchesTheVerifiedPassword() {
+    provider.authenticate(token("password123"));
+
+    assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("wrong")));
+    provider.authenticate(token("password123"));
+
+    verify(passwordEncoder, times(1)).matches("wrong", "hashedPassword");
+    verify(passwordEncoder, times(1)).matches("password123", "hashedPassword");
+  }
+
+  @Test
+  void changedPasswordHash_forcesFreshCheck() {
+    provider.authenticate(token("password123"));
+    user.setPassword("newHashedPassword");
+
+    assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("password123")));
+    verify(passwordEncoder, times(1)).matches("password123", "newHashedPassword");
+  }
+
+  @Test
+  void invalidate_forcesFreshCheck() {
+    provider.authenticate(token("password123"));
+    credentialCache.invalidate("test@example.com");
+    provider.authenticate(token("password123"));
+
+    verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+  }
+
+  private UsernamePasswordAuthenticationToken token(String password) {
+    return UsernamePasswordAuthenticationToken.unauthenticated("test@example.com", password);
+  }
+}
@@ -0,0 +1,95 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.cloudcomputing.movieRetrievalWebApp.cache.KnownEmailFilter;
+import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserCredentials;
+import com.cloudcomputing.movieRetrievalWebApp.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+  @Mock
+  private UserService userService;
+
+  @Mock
+  private KnownEmailFilter knownEmailFilter;
+
+  @InjectMocks
+  private CustomUserDetailsService customUserDetailsService;
+
+  @Test
+  void loadUserByUsername_cachedUserIsKeptButHashComesFromCredentials() {
+    User user = new User("test@example.com", "hashedPassword", "John", "Doe");
+    when(knownEmailFilter.mightExist("test@example.com")).thenReturn(true);
+    when(userService.getCredentialsByEmail("test@example.com"))
+        .thenReturn(Optional.of(new UserCredentials(user.getUserId(), "test@example.com", "hashedPassword")));
+    when(userService.getCachedUserByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+    AuthenticatedUser principal = (AuthenticatedUser) customUserDetailsService.loadUserByUsername("test@example.com");
+
+    assertEquals(Optional.of(user), principal.getUser());
+    assertEquals("hashedPassword", principal.getPassword());
+  }
+
+  @Test
+  void loadUserByUsername_staleCachedUserIsNotUsed() {
+    User staleUser = new User("test@example.com", "oldHash", "John", "Doe");
+    when(knownEmailFilter.mightExist("test@example.com")).thenReturn(true);
+    when(userService.getCredentialsByEmail("test@example.com"))
+        .thenReturn(Optional.of(new UserCredentials(staleUser.getUserId(), "test@example.com", "newHash")));
+    when(userService.getCachedUserByEmail("test@example.com")).thenReturn(Optional.of(staleUser));
+
+    AuthenticatedUser principal = (AuthenticatedUser) customUserDetailsService.loadUserByUsername("test@example.com");
+
+    assertEquals("newHash", principal.getPassword());
+    assertTrue(principal.getUser().isEmpty());
+  }
+
+  @Test
+  void loadUserByUsername_cacheMissLoadsCredentialsOnly() {
+    UUID userId = UUID.randomUUID();
+    when(knownEmailFilter.mightExist("test@example.com")).thenReturn(true);
+    when(userService.getCredentialsByEmail("test@example.com"))
+        .thenReturn(Optional.of(new UserCredentials(userId, "test@example.com", "hashedPassword")));
+    when(userService.getCachedUserByEmail("test@example.com")).thenReturn(Optional.empty());
+
+    AuthenticatedUser principal = (AuthenticatedUser) customUserDetailsService.loadUserByUsername("test@example.com");
+
+    assertEquals(userId, principal.getUserId());
+    assertEquals("test@example.com", principal.getUsername());
+    assertEquals("hashedPassword", principal.getPassword());
+    assertTrue(principal.getUser().isEmpty());
+    verify(userService, never()).getUserByEmail(any());
+  }
+
+  @Test
+  void loadUserByUsername_unknownEmailThrows() {
+    when(knownEmailFilter.mightExist("missing@example.com")).thenReturn(true);
+    when(userService.getCredentialsByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+    assertThrows(UsernameNotFoundException.class,
+        () -> customUserDetailsService.loadUserByUsername("missing@example.com"));
+    verify(knownEmailFilter).recordFalsePositive();
+  }
+
+  @Test
+  void loadUserByUsername_filteredEmailSkipsLookup() {
+    when(knownEmailFilter.mightExist("missing@example.com")).thenReturn(false);
+
+    assertThrows(UsernameNotFoundException.class,
+        () -> customUserDetailsService.loadUserByUsername("missing@example.com"));
+    verifyNoInteractions(userService);
+  }
+}
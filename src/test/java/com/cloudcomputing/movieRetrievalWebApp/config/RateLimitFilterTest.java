@@ -0,0 +1,71 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.timgroup.statsd.NoOpStatsDClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+  // 1 request per second with a burst of 3 per IP; 1 per second with a burst of 2 per account.
+  private final RateLimitFilter filter =
+      new RateLimitFilter(new RequestRateLimiter(1, 3, 1, 2, 1000, new NoOpStatsDClient()));
+
+  @Test
+  void ipBurstIsAllowedThenRejectedWithRetryAfter() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      assertEquals(200, perform("10.0.0.1", null).getStatus());
+    }
+
+    MockHttpServletResponse rejected = perform("10.0.0.1", null);
+
+    assertEquals(429, rejected.getStatus());
+    assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+    assertEquals(200, perform("10.0.0.2", null).getStatus());
+  }
+
+  @Test
+  void accountLimitAppliesAcrossIps() throws Exception {
+    assertEquals(200, perform("10.0.0.1", "victim@example.com").getStatus());
+    assertEquals(200, perform("10.0.0.2", "Victim@Example.com").getStatus());
+
+    assertEquals(429, perform("10.0.0.3", "victim@example.com").getStatus());
+    assertEquals(200, perform("10.0.0.3", "other@example.com").getStatus());
+  }
+
+  @Test
+  void rejectedRequestDoesNotReachTheChain() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      perform("10.0.0.1", null);
+    }
+    MockHttpServletRequest request = request("10.0.0.1", null);
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    assertNull(chain.getRequest());
+  }
+
+  private MockHttpServletResponse perform(String ip, String email) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request(ip, email), response, new MockFilterChain());
+    return response;
+  }
+
+  private static MockHttpServletRequest request(String ip, String email) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/user/self");
+    request.setRemoteAddr(ip);
+    if (email != null) {
+      String credentials = Base64.getEncoder().encodeToString((email + ":secret").getBytes(StandardCharsets.UTF_8));
+      request.addHeader(HttpHeaders.AUTHORIZATION, "Basic " + credentials);
+    }
+    return request;
+  }
+}
@@ -0,0 +1,109 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.timgroup.statsd.NoOpStatsDClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+  private JdbcTemplate primaryJdbc;
+  private JdbcTemplate replicaJdbc;
+  private ReplicaLagMonitor lagMonitor;
+  private JdbcTemplate routedJdbc;
+  private TransactionTemplate readOnlyTx;
+  private TransactionTemplate readWriteTx;
+
+  @BeforeEach
+  void setUp() {
+    DataSource primary = h2("primary");
+    DataSource replica = h2("replica");
+    primaryJdbc = new JdbcTemplate(primary);
+    replicaJdbc = new JdbcTemplate(replica);
+    primaryJdbc.execute("CREATE TABLE route_marker (name VARCHAR(16))");
+    primaryJdbc.update("INSERT INTO route_marker VALUES ('primary')");
+    replicaJdbc.execute("CREATE TABLE route_marker (name VARCHAR(16))");
+    replicaJdbc.update("INSERT INTO route_marker VALUES ('replica')");
+    replicaJdbc.execute("CREATE TABLE replica_lag (seconds BIGINT)");
+    replicaJdbc.update("INSERT INTO replica_lag VALUES (0)");
+
+    lagMonitor = new ReplicaLagMonitor(replica, "SELECT seconds FROM replica_lag", 5, 1000,
+        new NoOpStatsDClient());
+    DataSource routed = new LazyConnectionDataSourceProxy(
+        new ReplicaRoutingDataSource(primary, replica, lagMonitor, new NoOpStatsDClient()));
+    routedJdbc = new JdbcTemplate(routed);
+
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routed);
+    readOnlyTx = new TransactionTemplate(transactionManager);
+    readOnlyTx.setReadOnly(true);
+    readWriteTx = new TransactionTemplate(transactionManager);
+  }
+
+  @AfterEach
+  void tearDown() {
+    primaryJdbc.execute("SHUTDOWN");
+    replicaJdbc.execute("SHUTDOWN");
+  }
+
+  @Test
+  void readOnlyTransaction_routesToReplica() {
+    lagMonitor.refresh();
+
+    assertEquals("replica", readOnlyTx.execute(status -> marker()));
+  }
+
+  @Test
+  void readWriteTransaction_routesToPrimary() {
+    lagMonitor.refresh();
+
+    assertEquals("primary", readWriteTx.execute(status -> marker()));
+  }
+
+  @Test
+  void nonTransactionalAccess_routesToPrimary() {
+    lagMonitor.refresh();
+
+    assertEquals("primary", marker());
+  }
+
+  @Test
+  void replicaNotYetProbed_readsStayOnPrimary() {
+    assertEquals("primary", readOnlyTx.execute(status -> marker()));
+  }
+
+  @Test
+  void laggingReplica_fallsBackToPrimary() {
+    replicaJdbc.update("UPDATE replica_lag SET seconds = 30");
+    lagMonitor.refresh();
+
+    assertFalse(lagMonitor.isReplicaUsable());
+    assertEquals("primary", readOnlyTx.execute(status -> marker()));
+  }
+
+  @Test
+  void failingLagProbe_fallsBackToPrimary() {
+    lagMonitor.refresh();
+    replicaJdbc.execute("DROP TABLE replica_lag");
+    lagMonitor.refresh();
+
+    assertEquals("primary", readOnlyTx.execute(status -> marker()));
+  }
+
+  private String marker() {
+    return routedJdbc.queryForObject("SELECT name FROM route_marker", String.class);
+  }
+
+  private static DataSource h2(String name) {
+    return new DriverManagerDataSource("jdbc:h2:mem:" + name + "_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+  }
+}
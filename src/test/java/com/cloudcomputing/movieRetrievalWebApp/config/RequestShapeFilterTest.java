@@ -0,0 +1,79 @@
+package com.cloudcomputing.movieRetrievalWebApp.config;
+
+import com.timgroup.statsd.StatsDClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RequestShapeFilterTest {
+
+  private final StatsDClient statsDClient = mock(StatsDClient.class);
+  private final RequestShapeFilter filter = new RequestShapeFilter(RequestShapeFilter.USER_ROUTES, statsDClient);
+
+  @Test
+  void queryStringIsRejectedWithoutReachingTheChain() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/user/self/pic");
+    request.setQueryString("x=1");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, response, chain);
+
+    assertEquals(400, response.getStatus());
+    assertNull(chain.getRequest());
+    verify(statsDClient).incrementCounter("request.rejected.query_params");
+  }
+
+  @Test
+  void emptyObjectRouteAcceptsOnlyAnEmptyJsonObject() throws Exception {
+    assertEquals(200, perform("GET", "/v1/user/self/pic", "{}", "application/json").getStatus());
+    assertEquals(200, perform("DELETE", "/v1/user/self/pic", " { }\n", "application/json;charset=UTF-8").getStatus());
+    verifyNoInteractions(statsDClient);
+  }
+
+  @Test
+  void emptyObjectRouteRejectsMissingFieldsNonJsonAndOversizedBodies() throws Exception {
+    assertEquals(400, perform("GET", "/v1/user/self/pic", null, null).getStatus());
+    assertEquals(400, perform("GET", "/v1/user/self/pic", "{}", "text/plain").getStatus());
+    assertEquals(400, perform("GET", "/v1/user/self/pic", "{\"a\":1}", "application/json").getStatus());
+    assertEquals(400, perform("DELETE", "/v1/user/self/pic", "{}" + " ".repeat(100), "application/json").getStatus());
+    verify(statsDClient, times(4)).incrementCounter("request.rejected.body");
+  }
+
+  @Test
+  void otherRoutesLeaveTheBodyToTheController() throws Exception {
+    assertEquals(200, perform("GET", "/v1/user/self", "{\"a\":1}", "application/json").getStatus());
+    assertEquals(200, perform("POST", "/v1/user/self/token", "ignored", "text/plain").getStatus());
+    verifyNoInteractions(statsDClient);
+  }
+
+  @Test
+  void routesWithoutRulesPassThrough() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/admin/users");
+    request.setQueryString("limit=2");
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    assertSame(request, chain.getRequest());
+    assertEquals(200, perform("POST", "/v1/user", "{\"emailAddress\":\"a@b\"}", "application/json").getStatus());
+  }
+
+  private MockHttpServletResponse perform(String method, String path, String body, String contentType)
+      throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+    request.setContentType(contentType);
+    if (body != null) {
+      request.setContent(body.getBytes(StandardCharsets.UTF_8));
+    }
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, new MockFilterChain());
+    return response;
+  }
+}
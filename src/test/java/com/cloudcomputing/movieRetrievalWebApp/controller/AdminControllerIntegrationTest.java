@@ -0,0 +1,142 @@
+package com.cloudcomputing.movieRetrievalWebApp.controller;
+
+import com.cloudcomputing.movieRetrievalWebApp.model.UserChange;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserChangeCursor;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserSummary;
+import com.cloudcomputing.movieRetrievalWebApp.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.security.admin-emails=admin@example.com")
+public class AdminControllerIntegrationTest {
+
+  @Autowired
+  private WebApplicationContext context;
+
+  @MockBean
+  private UserService userService;
+
+  private MockMvc mockMvc;
+
+  private final UserSummary first = summary("first@example.com");
+  private final UserSummary second = summary("second@example.com");
+
+  @BeforeEach
+  public void setUp() {
+    mockMvc = MockMvcBuilders
+        .webAppContextSetup(context)
+        .apply(springSecurity())
+        .build();
+  }
+
+  @Test
+  @WithMockUser(username = "admin@example.com")
+  public void listUsers_fullPage_returnsNextCursor() throws Exception {
+    when(userService.getUserPage(null, 2)).thenReturn(List.of(first, second));
+
+    mockMvc.perform(get("/v1/admin/users").param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.users.length()").value(2))
+        .andExpect(jsonPath("$.next_cursor").value(second.userId().toString()));
+  }
+
+  @Test
+  @WithMockUser(username = "admin@example.com")
+  public void listUsers_lastPage_hasNoCursor() throws Exception {
+    when(userService.getUserPage(eq(first.userId()), eq(2))).thenReturn(List.of(second));
+
+    mockMvc.perform(get("/v1/admin/users").param("limit", "2").param("after", first.userId().toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.users[0].email").value("second@example.com"))
+        .andExpect(jsonPath("$.next_cursor").doesNotExist());
+  }
+
+  @Test
+  @WithMockUser(username = "admin@example.com")
+  public void listUsers_oversizedPage_returnsBadRequest() throws Exception {
+    mockMvc.perform(get("/v1/admin/users").param("limit", "5000"))
+        .andExpect(status().isBadRequest());
+
+    verify(userService, never()).getUserPage(any(), anyInt());
+  }
+
+  @Test
+  @WithMockUser(username = "admin@example.com")
+  @SuppressWarnings("unchecked")
+  public void exportUsers_streamsJsonArray() throws Exception {
+    doAnswer(invocation -> {
+      Consumer<UserSummary> consumer = invocation.getArgument(1);
+      consumer.accept(first);
+      consumer.accept(second);
+      return null;
+    }).when(userService).exportUsers(anyInt(), any(Consumer.class));
+
+    MvcResult result = mockMvc.perform(get("/v1/admin/users/export"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[1].email").value("second@example.com"));
+  }
+
+  @Test
+  @WithMockUser(username = "admin@example.com")
+  public void listChanges_returnsChangesAndContinuationToken() throws Exception {
+    UserChange deleted = new UserChange(UserChange.Type.DELETED, UUID.randomUUID(), "gone@example.com",
+        LocalDateTime.now(), null);
+    when(userService.getUserChanges(UserChangeCursor.START, 2)).thenReturn(List.of(UserChange.of(first), deleted));
+
+    mockMvc.perform(get("/v1/admin/users/changes").param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.changes[0].type").value("CREATED"))
+        .andExpect(jsonPath("$.changes[1].type").value("DELETED"))
+        .andExpect(jsonPath("$.changes[1].user").doesNotExist())
+        .andExpect(jsonPath("$.next_cursor").value(deleted.cursor().encode()))
+        .andExpect(jsonPath("$.has_more").value(true));
+  }
+
+  @Test
+  @WithMockUser(username = "admin@example.com")
+  public void listChanges_malformedCursor_returnsBadRequest() throws Exception {
+    mockMvc.perform(get("/v1/admin/users/changes").param("cursor", "garbage"))
+        .andExpect(status().isBadRequest());
+
+    verify(userService, never()).getUserChanges(any(), anyInt());
+  }
+
+  @Test
+  @WithMockUser(username = "usertest1@gmail.com")
+  public void listUsers_nonAdmin_returnsForbidden() throws Exception {
+    mockMvc.perform(get("/v1/admin/users"))
+        .andExpect(status().isForbidden());
+  }
+
+  private static UserSummary summary(String email) {
+    LocalDateTime now = LocalDateTime.now();
+    return new UserSummary(UUID.randomUUID(), email, "First", "Last", now, now);
+  }
+}
@@ -1,8 +1,10 @@
 package com.cloudcomputing.movieRetrievalWebApp.controller;
 
+import com.cloudcomputing.movieRetrievalWebApp.config.AccessTokenService;
 import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserCreateDTO;
 import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserUpdateDTO;
 import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import com.cloudcomputing.movieRetrievalWebApp.service.UserImportResult;
 import com.cloudcomputing.movieRetrievalWebApp.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -11,12 +13,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Map;
 import java.util.HashMap;
@@ -28,7 +32,7 @@ import static org.springframework.security.test.web.servlet.setup.SecurityMockMv
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.security.admin-emails=admin@example.com")
 public class UserControllerIntegrationTest {
 
   @Autowired
@@ -37,6 +41,9 @@ public class UserControllerIntegrationTest {
   @Autowired
   private ObjectMapper objectMapper;
 
+  @Autowired
+  private AccessTokenService accessTokenService;
+
   @MockBean
   private UserService userService;
 
@@ -59,9 +66,8 @@ public class UserControllerIntegrationTest {
     userCreateDTO.setLastName("Doe");
     String jsonRequest = new ObjectMapper().writeValueAsString(userCreateDTO);
 
-    // Simulate the case where the user does not already exist
-    when(userService.getUserByEmail(userCreateDTO.getEmailAddress())).thenReturn(Optional.empty());
-    when(userService.addUser(any())).thenReturn(new User());
+    // Simulate a successful insert returning the saved entity
+    when(userService.addUser(any())).thenReturn(new User("test@example.com", "hash", "John", "Doe"));
 
     // Perform the POST request and expect a 201 Created response
     mockMvc.perform(post("/v1/user")
@@ -94,7 +100,8 @@ public class UserControllerIntegrationTest {
     userCreateDTO.setFirstName("John");
     userCreateDTO.setLastName("Doe");
 
-    when(userService.getUserByEmail(any())).thenReturn(Optional.of(new User()));
+    // Simulate the unique constraint rejecting a duplicate email
+    when(userService.addUser(any())).thenThrow(new IllegalArgumentException("User with this email already exists."));
 
     mockMvc.perform(post("/v1/user")
         .contentType(MediaType.APPLICATION_JSON)
@@ -135,10 +142,7 @@ public class UserControllerIntegrationTest {
   @Test
   @WithMockUser(username = "usertest1@gmail.com", password = "userTest1")
   public void getUserInfo_authenticatedUser_returnsUserInfo() throws Exception {
-    User user = new User();
-    user.setEmailAddress("usertest1@gmail.com");
-    user.setFirstName("User");
-    user.setLastName("Test");
+    User user = new User("usertest1@gmail.com", "hash", "User", "Test");
 
     when(userService.getUserByEmail("usertest1@gmail.com")).thenReturn(Optional.of(user));
 
@@ -149,12 +153,61 @@ public class UserControllerIntegrationTest {
         .andExpect(jsonPath("$.last_name").value("Test"));
   }
 
+  @Test
+  @WithMockUser(username = "usertest1@gmail.com", password = "userTest1")
+  public void getUserInfo_matchingIfNoneMatch_returnsNotModified() throws Exception {
+    User user = new User("usertest1@gmail.com", "hashedPassword", "User", "Test");
+    when(userService.getUserByEmail("usertest1@gmail.com")).thenReturn(Optional.of(user));
+
+    String eTag = mockMvc.perform(get("/v1/user/self"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/v1/user/self").header("If-None-Match", eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", eTag))
+        .andExpect(content().string(""));
+  }
+
   @Test
   public void getUserInfo_unauthenticated_returnsUnauthorized() throws Exception {
     mockMvc.perform(get("/v1/user/self"))
         .andExpect(status().isUnauthorized());
   }
 
+  @Test
+  public void getUserInfo_withBearerToken_returnsUserInfo() throws Exception {
+    User user = new User("usertest1@gmail.com", "hashedPassword", "User", "Test");
+    String token = accessTokenService.issue(user);
+
+    when(userService.getUserById(user.getUserId())).thenReturn(Optional.of(user));
+
+    mockMvc.perform(get("/v1/user/self").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.email").value("usertest1@gmail.com"));
+
+    verify(userService, never()).getUserByEmail(any());
+  }
+
+  @Test
+  public void getUserInfo_withInvalidBearerToken_returnsUnauthorized() throws Exception {
+    mockMvc.perform(get("/v1/user/self").header("Authorization", "Bearer invalid.token"))
+        .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  @WithMockUser(username = "usertest1@gmail.com", password = "userTest1")
+  public void issueAccessToken_authenticatedUser_returnsToken() throws Exception {
+    User user = new User("usertest1@gmail.com", "hashedPassword", "User", "Test");
+    when(userService.getUserByEmail("usertest1@gmail.com")).thenReturn(Optional.of(user));
+
+    mockMvc.perform(post("/v1/user/self/token"))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.token_type").value("Bearer"))
+        .andExpect(jsonPath("$.access_token").isNotEmpty());
+  }
+
   @Test
   @WithMockUser(username = "usertest1@gmail.com", password = "userTest1")
   public void getUserInfo_withQueryParams_returnsBadRequest() throws Exception {
@@ -162,6 +215,17 @@ public class UserControllerIntegrationTest {
         .andExpect(status().isBadRequest());
   }
 
+  @Test
+  @WithMockUser(username = "usertest1@gmail.com", password = "userTest1")
+  public void getUserImage_withBodyFields_returnsBadRequest() throws Exception {
+    mockMvc.perform(get("/v1/user/self/pic")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"fileName\":\"pic.png\"}"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(userService);
+  }
+
   @Test
   @WithMockUser(username = "usertest1@gmail.com", password = "userTest1")
   public void updateUser_authenticatedUser_returnsNoContent() throws Exception {
@@ -171,10 +235,7 @@ public class UserControllerIntegrationTest {
     userUpdateMap.put("lastName", "TestUpdated");
     userUpdateMap.put("password", "newPassword"); // This is allowed as per your controller
 
-    User existingUser = new User();
-    existingUser.setEmailAddress("usertest1@gmail.com");
-    existingUser.setFirstName("UserUpdated");
-    existingUser.setLastName("TestUpdated");
+    User existingUser = new User("usertest1@gmail.com", "hash", "UserUpdated", "TestUpdated");
 
     when(userService.getUserByEmail("usertest1@gmail.com")).thenReturn(Optional.of(existingUser));
     when(userService.updateUser(eq("usertest1@gmail.com"), any())).thenReturn(existingUser);
@@ -185,6 +246,78 @@ public class UserControllerIntegrationTest {
         .andExpect(status().isNoContent());
   }
 
+  @Test
+  @WithMockUser(username = "admin@example.com")
+  public void createUsers_admin_reportsResultPerRow() throws Exception {
+    List<Map<String, Object>> rows = List.of(
+        Map.of("emailAddress", "batch1@example.com", "password", "password1", "firstName", "Batch"),
+        Map.of("emailAddress", "not-an-email", "password", "password2", "firstName", "Batch"));
+    User saved = new User("batch1@example.com", "hashed", "Batch", null);
+
+    when(userService.addUsers(anyList())).thenReturn(List.of(UserImportResult.created(saved)));
+
+    mockMvc.perform(post("/v1/user/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(rows)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].status").value("CREATED"))
+        .andExpect(jsonPath("$[0].id").value(saved.getUserId().toString()))
+        .andExpect(jsonPath("$[1].status").value("FAILED"));
+
+    verify(userService, times(1)).addUsers(argThat(users -> users.size() == 1));
+  }
+
+  @Test
+  @WithMockUser(username = "admin@example.com")
+  public void createUsers_admin_wrongFieldTypeFailsOnlyThatRow() throws Exception {
+    List<Map<String, Object>> rows = List.of(
+        Map.of("emailAddress", "batch1@example.com", "password", "password1", "firstName", "Batch"),
+        Map.of("emailAddress", "batch2@example.com", "password", "password2", "firstName", Map.of()));
+    User saved = new User("batch1@example.com", "hashed", "Batch", null);
+
+    when(userService.addUsers(anyList())).thenReturn(List.of(UserImportResult.created(saved)));
+
+    mockMvc.perform(post("/v1/user/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(rows)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].status").value("CREATED"))
+        .andExpect(jsonPath("$[1].status").value("FAILED"))
+        .andExpect(jsonPath("$[1].email").value("batch2@example.com"))
+        .andExpect(jsonPath("$[1].error").value("Invalid field types."));
+
+    verify(userService, times(1)).addUsers(argThat(users -> users.size() == 1));
+  }
+
+  @Test
+  @WithMockUser(username = "usertest1@gmail.com")
+  public void createUsers_nonAdmin_returnsForbidden() throws Exception {
+    mockMvc.perform(post("/v1/user/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("[]"))
+        .andExpect(status().isForbidden());
+
+    verify(userService, never()).addUsers(any());
+  }
+
+  @Test
+  @WithMockUser(username = "usertest1@gmail.com", password = "userTest1")
+  public void updateUser_concurrentModification_returnsConflict() throws Exception {
+    Map<String, Object> userUpdateMap = new HashMap<>();
+    userUpdateMap.put("lastName", "TestUpdated");
+
+    User existingUser = new User("usertest1@gmail.com", "hash", "John", null);
+
+    when(userService.getUserByEmail("usertest1@gmail.com")).thenReturn(Optional.of(existingUser));
+    when(userService.updateUser(eq("usertest1@gmail.com"), any()))
+        .thenThrow(new OptimisticLockingFailureException("conflict"));
+
+    mockMvc.perform(put("/v1/user/self")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(userUpdateMap)))
+        .andExpect(status().isConflict());
+  }
+
   @Test
   @WithMockUser(username = "usertest1@gmail.com", password = "userTest1")
   public void updateUser_userNotFound_returnsNotFound() throws Exception {
@@ -202,11 +335,22 @@ public class UserControllerIntegrationTest {
         .andExpect(status().isNotFound());
   }
 
+  @Test
+  @WithMockUser(username = "usertest1@gmail.com", password = "userTest1")
+  public void updateUser_withEmailAddress_returnsBadRequest() throws Exception {
+    mockMvc.perform(put("/v1/user/self")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"firstName\":\"UserUpdated\",\"emailAddress\":\"other@example.com\"}"))
+        .andExpect(status().isBadRequest());
+
+    verify(userService, never()).updateUser(any(), any());
+  }
+
   @Test
   @WithMockUser(username = "usertest1@gmail.com", password = "userTest1")
   public void updateUser_withQueryParams_returnsBadRequest() throws Exception {
     UserUpdateDTO userUpdateDTO = new UserUpdateDTO();
-    userUpdateDTO.setEmailAddress("usertest1@gmail.com");
+    userUpdateDTO.setFirstName("UserUpdated");
 
     mockMvc.perform(put("/v1/user/self?param=value")
         .contentType(MediaType.APPLICATION_JSON)
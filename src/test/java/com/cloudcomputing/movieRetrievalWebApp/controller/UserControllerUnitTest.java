@@ -6,19 +6,25 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import com.cloudcomputing.movieRetrievalWebApp.cache.UserResponseCache;
+import com.cloudcomputing.movieRetrievalWebApp.config.AuthenticatedUser;
 
 import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserCreateDTO;
 import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserResponseDTO;
 import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserUpdateDTO;
 import com.cloudcomputing.movieRetrievalWebApp.model.User;
 import com.cloudcomputing.movieRetrievalWebApp.service.UserService;
+import com.cloudcomputing.movieRetrievalWebApp.validation.UserRequestValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.timgroup.statsd.NoOpStatsDClient;
 
 import java.security.Principal;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collections;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,9 +34,17 @@ import static org.mockito.Mockito.*;
 
 class UserControllerUnitTest {
 
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
   @Mock
   private UserService userService;
 
+  @Spy
+  private UserRequestValidator userRequestValidator = new UserRequestValidator();
+
+  @Spy
+  private UserResponseCache userResponseCache = new UserResponseCache(OBJECT_MAPPER, 100, 60, new NoOpStatsDClient());
+
   @InjectMocks
   private UserController userController;
 
@@ -41,89 +55,118 @@ class UserControllerUnitTest {
 
   @Test
   void createUser_Success() {
-    Map<String, Object> requestBody = new HashMap<>();
-    requestBody.put("emailAddress", "test@example.com");
-    requestBody.put("password", "password123");
-    requestBody.put("firstName", "John");
-    requestBody.put("lastName", "Doe");
-
-    MockHttpServletRequest request = new MockHttpServletRequest();
+    UserCreateDTO requestBody = new UserCreateDTO();
+    requestBody.setEmailAddress("test@example.com");
+    requestBody.setPassword("password123");
+    requestBody.setFirstName("John");
+    requestBody.setLastName("Doe");
 
     try (MockedStatic<ControllerUtils> mockedControllerUtils = mockStatic(ControllerUtils.class)) {
-      mockedControllerUtils.when(() -> ControllerUtils.validateEmailPassword(any(UserCreateDTO.class)))
-          .thenReturn(true);
-      mockedControllerUtils.when(() -> ControllerUtils.checkUserExists(userService, "test@example.com"))
-          .thenReturn(false);
-      mockedControllerUtils.when(() -> ControllerUtils.createUser(any(UserCreateDTO.class))).thenReturn(new User());
-      mockedControllerUtils.when(() -> ControllerUtils.getExsistingUser(userService, "test@example.com"))
-          .thenReturn(Optional.of(new User()));
+      User newUser = new User("test@example.com", "hash", "John", "Doe");
+      mockedControllerUtils.when(() -> ControllerUtils.createUser(any(UserCreateDTO.class))).thenReturn(newUser);
+      when(userService.addUser(newUser)).thenReturn(newUser);
       mockedControllerUtils.when(() -> ControllerUtils.setResponseObject(any(Optional.class)))
           .thenReturn(new UserResponseDTO());
 
-      ResponseEntity<UserResponseDTO> response = userController.createUser(requestBody, request);
+      ResponseEntity<UserResponseDTO> response = userController.createUser(requestBody);
 
       assertEquals(HttpStatus.CREATED, response.getStatusCode());
       assertNotNull(response.getBody());
+      verify(userService, never()).getUserByEmail(any());
     }
   }
 
   @Test
   void createUser_UserAlreadyExists() {
-    Map<String, Object> requestBody = new HashMap<>();
-    requestBody.put("emailAddress", "existing@example.com");
-    requestBody.put("password", "password123");
-    requestBody.put("firstName", "John");
-    requestBody.put("lastName", "Doe");
-
-    MockHttpServletRequest request = new MockHttpServletRequest();
+    UserCreateDTO requestBody = new UserCreateDTO();
+    requestBody.setEmailAddress("existing@example.com");
+    requestBody.setPassword("password123");
+    requestBody.setFirstName("John");
+    requestBody.setLastName("Doe");
 
     try (MockedStatic<ControllerUtils> mockedControllerUtils = mockStatic(ControllerUtils.class)) {
-      mockedControllerUtils.when(() -> ControllerUtils.validateEmailPassword(any(UserCreateDTO.class)))
-          .thenReturn(true);
-      mockedControllerUtils.when(() -> ControllerUtils.checkUserExists(userService, "existing@example.com"))
-          .thenReturn(true);
+      mockedControllerUtils.when(() -> ControllerUtils.createUser(any(UserCreateDTO.class))).thenReturn(new User("test@example.com", "hash", "John", "Doe"));
+      when(userService.addUser(any(User.class)))
+          .thenThrow(new IllegalArgumentException("User with this email already exists."));
 
-      ResponseEntity<UserResponseDTO> response = userController.createUser(requestBody, request);
+      ResponseEntity<UserResponseDTO> response = userController.createUser(requestBody);
 
       assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
     }
   }
 
+  @Test
+  void createUser_MissingEmail() {
+    UserCreateDTO requestBody = new UserCreateDTO();
+    requestBody.setPassword("password123");
+    requestBody.setFirstName("John");
+
+    ResponseEntity<UserResponseDTO> response = userController.createUser(requestBody);
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    verifyNoInteractions(userService);
+  }
+
   @Test
   void getUserInfo_Success() {
     Principal principal = () -> "test@example.com";
-    MockHttpServletRequest request = new MockHttpServletRequest();
 
-    User user = new User();
-    user.setEmailAddress("test@example.com");
-    user.setFirstName("John");
-    user.setLastName("Doe");
+    User user = new User("test@example.com", "hash", "John", "Doe");
 
     try (MockedStatic<ControllerUtils> mockedControllerUtils = mockStatic(ControllerUtils.class)) {
-      mockedControllerUtils.when(() -> ControllerUtils.checkUserExists(userService, "test@example.com"))
-          .thenReturn(true);
-      mockedControllerUtils.when(() -> ControllerUtils.getExsistingUser(userService, "test@example.com"))
+      mockedControllerUtils.when(() -> ControllerUtils.getAuthenticatedUser(userService, principal))
           .thenReturn(Optional.of(user));
       mockedControllerUtils.when(() -> ControllerUtils.setResponseObject(any(Optional.class)))
           .thenReturn(new UserResponseDTO());
 
-      ResponseEntity<UserResponseDTO> response = userController.getUserInfo(request, principal);
+      ResponseEntity<byte[]> response = userController.getUserInfo(principal, null);
 
       assertEquals(HttpStatus.OK, response.getStatusCode());
       assertNotNull(response.getBody());
     }
   }
 
+  @Test
+  void getUserInfo_UsesUserLoadedDuringAuthentication() throws Exception {
+    User user = new User("test@example.com", "hashedPassword", "John", "Doe");
+    Principal principal = UsernamePasswordAuthenticationToken.authenticated(
+        new AuthenticatedUser(user), null, Collections.emptyList());
+
+    ResponseEntity<byte[]> response = userController.getUserInfo(principal, null);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals("test@example.com", OBJECT_MAPPER.readTree(response.getBody()).get("email").asText());
+    verifyNoInteractions(userService);
+  }
+
+  @Test
+  void getUserInfo_ReturnsETagAndNotModifiedWhenItMatches() {
+    User user = new User("test@example.com", "hashedPassword", "John", "Doe");
+    Principal principal = UsernamePasswordAuthenticationToken.authenticated(
+        new AuthenticatedUser(user), null, Collections.emptyList());
+
+    ResponseEntity<byte[]> first = userController.getUserInfo(principal, null);
+    String eTag = first.getHeaders().getETag();
+
+    assertEquals("\"" + user.getUserId() + "-0\"", eTag);
+    assertEquals("no-cache, private", first.getHeaders().getCacheControl());
+
+    ResponseEntity<byte[]> second = userController.getUserInfo(principal, "\"other\", W/" + eTag);
+
+    assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+    assertEquals(eTag, second.getHeaders().getETag());
+    assertNull(second.getBody());
+  }
+
   @Test
   void getUserInfo_UserNotFound() {
     Principal principal = () -> "nonexistent@example.com";
-    MockHttpServletRequest request = new MockHttpServletRequest();
 
     try (MockedStatic<ControllerUtils> mockedControllerUtils = mockStatic(ControllerUtils.class)) {
-      mockedControllerUtils.when(() -> ControllerUtils.checkUserExists(userService, "nonexistent@example.com"))
-          .thenReturn(false);
+      mockedControllerUtils.when(() -> ControllerUtils.getAuthenticatedUser(userService, principal))
+          .thenReturn(Optional.empty());
 
-      ResponseEntity<UserResponseDTO> response = userController.getUserInfo(request, principal);
+      ResponseEntity<byte[]> response = userController.getUserInfo(principal, null);
 
       assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
@@ -132,23 +175,20 @@ class UserControllerUnitTest {
   @Test
   void updateUser_Success() {
     Principal principal = () -> "test@example.com";
-    Map<String, Object> requestBody = new HashMap<>();
-    requestBody.put("firstName", "UpdatedJohn");
-    requestBody.put("lastName", "UpdatedDoe");
+    UserUpdateDTO requestBody = new UserUpdateDTO();
+    requestBody.setFirstName("UpdatedJohn");
+    requestBody.setLastName("UpdatedDoe");
 
-    MockHttpServletRequest request = new MockHttpServletRequest();
-
-    User existingUser = new User();
-    existingUser.setEmailAddress("test@example.com");
+    User existingUser = new User("test@example.com", "hash", "John", null);
 
     try (MockedStatic<ControllerUtils> mockedControllerUtils = mockStatic(ControllerUtils.class)) {
-      mockedControllerUtils.when(() -> ControllerUtils.checkUserExists(userService, "test@example.com"))
-          .thenReturn(true);
+      mockedControllerUtils.when(() -> ControllerUtils.getAuthenticatedUser(userService, principal))
+          .thenReturn(Optional.of(existingUser));
       mockedControllerUtils
-          .when(() -> ControllerUtils.updateUser(eq(userService), any(UserUpdateDTO.class), eq("test@example.com")))
+          .when(() -> ControllerUtils.updateUser(any(UserUpdateDTO.class)))
           .thenReturn(existingUser);
 
-      ResponseEntity<UserResponseDTO> response = userController.updateUser(principal, requestBody, request);
+      ResponseEntity<UserResponseDTO> response = userController.updateUser(principal, requestBody);
 
       assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
       verify(userService).updateUser(eq("test@example.com"), any(User.class));
@@ -158,21 +198,36 @@ class UserControllerUnitTest {
   @Test
   void updateUser_UserNotFound() {
     Principal principal = () -> "nonexistent@example.com";
-    Map<String, Object> requestBody = new HashMap<>();
-    requestBody.put("firstName", "UpdatedJohn");
-
-    MockHttpServletRequest request = new MockHttpServletRequest();
+    UserUpdateDTO requestBody = new UserUpdateDTO();
+    requestBody.setFirstName("UpdatedJohn");
 
     try (MockedStatic<ControllerUtils> mockedControllerUtils = mockStatic(ControllerUtils.class)) {
-      mockedControllerUtils.when(() -> ControllerUtils.checkUserExists(userService, "nonexistent@example.com"))
-          .thenReturn(false);
+      mockedControllerUtils.when(() -> ControllerUtils.getAuthenticatedUser(userService, principal))
+          .thenReturn(Optional.empty());
 
-      ResponseEntity<UserResponseDTO> response = userController.updateUser(principal, requestBody, request);
+      ResponseEntity<UserResponseDTO> response = userController.updateUser(principal, requestBody);
 
       assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
   }
 
+  @Test
+  void updateUser_EmptyBody() {
+    Principal principal = () -> "test@example.com";
+
+    User existingUser = new User("test@example.com", "hash", "John", null);
+
+    try (MockedStatic<ControllerUtils> mockedControllerUtils = mockStatic(ControllerUtils.class)) {
+      mockedControllerUtils.when(() -> ControllerUtils.getAuthenticatedUser(userService, principal))
+          .thenReturn(Optional.of(existingUser));
+
+      ResponseEntity<UserResponseDTO> response = userController.updateUser(principal, new UserUpdateDTO());
+
+      assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+      verify(userService, never()).updateUser(any(), any());
+    }
+  }
+
   @Test
   void methodNotAllowed() {
     ResponseEntity<Void> response = userController.methodNotAllowed();
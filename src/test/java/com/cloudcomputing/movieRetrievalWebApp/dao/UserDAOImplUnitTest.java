@@ -2,26 +2,43 @@ package com.cloudcomputing.movieRetrievalWebApp.dao;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import com.cloudcomputing.movieRetrievalWebApp.dao.implementation.UserDAOImpl;
 import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserChange;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserChangeCursor;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserSummary;
+import com.cloudcomputing.movieRetrievalWebApp.model.UserTombstone;
 import com.cloudcomputing.movieRetrievalWebApp.repository.UserRepo;
+import com.cloudcomputing.movieRetrievalWebApp.repository.UserTombstoneRepo;
 
 @ExtendWith(MockitoExtension.class)
 public class UserDAOImplUnitTest {
@@ -29,6 +46,9 @@ public class UserDAOImplUnitTest {
   @Mock
   private UserRepo userRepo;
 
+  @Mock
+  private UserTombstoneRepo userTombstoneRepo;
+
   @InjectMocks
   private UserDAOImpl userDAOImpl;
 
@@ -46,14 +66,43 @@ public class UserDAOImplUnitTest {
     verify(userRepo, times(1)).findAll();
   }
 
+  @Test
+  public void testGetUserPage_firstPage() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    List<UserSummary> page = List.of(new UserSummary(UUID.randomUUID(), "john@example.com", "John", "Doe", now, now));
+    when(userRepo.findSummaries(Limit.of(50))).thenReturn(page);
+
+    // Act
+    List<UserSummary> result = userDAOImpl.getUserPage(null, 50);
+
+    // Assert
+    assertEquals(page, result);
+    verify(userRepo, never()).findSummariesAfter(any(), any());
+  }
+
+  @Test
+  public void testGetUserPage_afterCursor() {
+    // Arrange
+    UUID after = UUID.randomUUID();
+    when(userRepo.findSummariesAfter(after, Limit.of(50))).thenReturn(Collections.emptyList());
+
+    // Act
+    List<UserSummary> result = userDAOImpl.getUserPage(after, 50);
+
+    // Assert
+    assertTrue(result.isEmpty());
+    verify(userRepo, never()).findSummaries(any());
+  }
+
   @Test
   public void testGetUserById_userExists() {
     // Arrange
     User user = new User("john@example.com", "password", "John", "Doe");
-    when(userRepo.findById(1L)).thenReturn(Optional.of(user));
+    when(userRepo.findById(user.getUserId())).thenReturn(Optional.of(user));
 
     // Act
-    Optional<User> result = userDAOImpl.getUserById(1L);
+    Optional<User> result = userDAOImpl.getUserById(user.getUserId());
 
     // Assert
     assertTrue(result.isPresent());
@@ -63,35 +112,52 @@ public class UserDAOImplUnitTest {
   @Test
   public void testGetUserById_userDoesNotExist() {
     // Arrange
-    when(userRepo.findById(1L)).thenReturn(Optional.empty());
+    UUID id = UUID.randomUUID();
+    when(userRepo.findById(id)).thenReturn(Optional.empty());
 
     // Act
-    Optional<User> result = userDAOImpl.getUserById(1L);
+    Optional<User> result = userDAOImpl.getUserById(id);
 
     // Assert
     assertFalse(result.isPresent());
   }
 
+  @Test
+  public void testGetUserByEmail_userExists() {
+    // Arrange
+    User user = new User("john@example.com", "password", "John", "Doe");
+    when(userRepo.findByEmailAddress("john@example.com")).thenReturn(Optional.of(user));
+
+    // Act
+    Optional<User> result = userDAOImpl.getUserByEmail("john@example.com");
+
+    // Assert
+    assertTrue(result.isPresent());
+    verify(userRepo, never()).findAll();
+  }
+
   @Test
   public void testCreateUser_userDoesNotExist() {
     // Arrange
     User newUser = new User("john@example.com", "password", "John", "Doe");
-    when(userRepo.findAll()).thenReturn(Collections.emptyList());
-    when(userRepo.save(any(User.class))).thenReturn(newUser);
+    when(userRepo.saveAndFlush(any(User.class))).thenReturn(newUser);
 
     // Act
     User createdUser = userDAOImpl.createUser(newUser);
 
     // Assert
     assertEquals("john@example.com", createdUser.getEmailAddress());
-    verify(userRepo, times(1)).save(any(User.class));
+    verify(userRepo, times(1)).saveAndFlush(any(User.class));
+    verify(userRepo, never()).existsByEmailAddress(any(String.class));
   }
 
   @Test
   public void testCreateUser_userAlreadyExists() {
     // Arrange
     User existingUser = new User("john@example.com", "password", "John", "Doe");
-    when(userRepo.findAll()).thenReturn(Collections.singletonList(existingUser));
+    when(userRepo.saveAndFlush(existingUser))
+        .thenThrow(new DataIntegrityViolationException("Duplicate entry",
+            new ConstraintViolationException("Duplicate entry", new SQLException(), "users.uk_users_email_address")));
 
     // Act & Assert
     assertThrows(IllegalArgumentException.class, () -> {
@@ -99,55 +165,195 @@ public class UserDAOImplUnitTest {
     });
   }
 
+  @Test
+  public void testCreateUser_otherConstraintViolationIsNotReportedAsDuplicate() {
+    // Arrange
+    User user = new User("john@example.com", "password", "John", "Doe");
+    DataIntegrityViolationException notNull = new DataIntegrityViolationException("Column 'first_name' cannot be null",
+        new ConstraintViolationException("Column 'first_name' cannot be null", new SQLException(), null));
+    when(userRepo.saveAndFlush(user)).thenThrow(notNull);
+
+    // Act & Assert
+    assertSame(notNull, assertThrows(DataIntegrityViolationException.class, () -> {
+      userDAOImpl.createUser(user);
+    }));
+  }
+
   @Test
   public void testUpdateUser_userExists() {
     // Arrange
     User existingUser = new User("john@example.com", "password", "John", "Doe");
-    User updatedUser = new User("john@example.com", "newpassword", "John", "Smith");
-    when(userRepo.findAll()).thenReturn(Collections.singletonList(existingUser));
-    when(userRepo.save(any(User.class))).thenReturn(updatedUser);
+    User currentUser = new User("john@example.com", "password", "John", "Doe");
+    User changes = new User();
+    changes.setPassword("newpassword");
+    changes.setLastName("Smith");
+    when(userRepo.findCurrentByEmailAddress("john@example.com")).thenReturn(Optional.of(currentUser));
+    when(userRepo.saveAndFlush(currentUser)).thenReturn(currentUser);
 
     // Act
-    User result = userDAOImpl.updateUser("john@example.com", updatedUser);
+    User result = userDAOImpl.updateUser(existingUser, changes);
 
     // Assert
     assertEquals("newpassword", result.getPassword());
     assertEquals("Smith", result.getLastName());
+    assertEquals("John", result.getFirstName());
+    assertEquals(currentUser.getUserId(), result.getUserId());
   }
 
   @Test
   public void testUpdateUser_userDoesNotExist() {
     // Arrange
-    when(userRepo.findAll()).thenReturn(Collections.emptyList());
-    User updatedUser = new User("john@example.com", "newpassword", "John", "Smith");
+    User existingUser = new User("nonexistent@example.com", "password", "John", "Doe");
+    User changes = new User();
+    changes.setLastName("Smith");
+    when(userRepo.findCurrentByEmailAddress("nonexistent@example.com")).thenReturn(Optional.empty());
 
     // Act & Assert
     assertThrows(IllegalArgumentException.class, () -> {
-      userDAOImpl.updateUser("nonexistent@example.com", updatedUser);
+      userDAOImpl.updateUser(existingUser, changes);
     });
+    verify(userRepo, never()).saveAndFlush(any());
   }
 
   @Test
-  public void testDeleteUser_userExists() {
+  public void testUpdateUser_appliesChangesToFreshRead() {
+    // Arrange
+    User staleUser = new User("john@example.com", "password", "John", "Doe");
+    User currentUser = new User("john@example.com", "password", "Johnny", "Doe");
+    User changes = new User();
+    changes.setLastName("Smith");
+    when(userRepo.findCurrentByEmailAddress("john@example.com")).thenReturn(Optional.of(currentUser));
+    when(userRepo.saveAndFlush(currentUser)).thenReturn(currentUser);
+
+    // Act
+    User result = userDAOImpl.updateUser(staleUser, changes);
+
+    // Assert
+    assertEquals("Johnny", result.getFirstName());
+    assertEquals("Smith", result.getLastName());
+  }
+
+  @Test
+  public void testUpdateUser_unchangedRowSkipsWrite() {
+    // Arrange
+    User currentUser = new User("john@example.com", "password", "John", "Doe");
+    User changes = new User();
+    changes.setFirstName("John");
+    when(userRepo.findCurrentByEmailAddress("john@example.com")).thenReturn(Optional.of(currentUser));
+
+    // Act
+    User result = userDAOImpl.updateUser(currentUser, changes);
+
+    // Assert
+    assertEquals(currentUser, result);
+    verify(userRepo, never()).saveAndFlush(any());
+  }
+
+  @Test
+  public void testUpdateUser_valueMatchingOnlyStaleCopyIsWritten() {
+    // Arrange
+    User cachedUser = new User("john@example.com", "password", "John", "Doe");
+    User currentUser = new User("john@example.com", "password", "Johnny", "Doe");
+    User changes = new User();
+    changes.setFirstName("John");
+    when(userRepo.findCurrentByEmailAddress("john@example.com")).thenReturn(Optional.of(currentUser));
+    when(userRepo.saveAndFlush(currentUser)).thenReturn(currentUser);
+
+    // Act
+    User result = userDAOImpl.updateUser(cachedUser, changes);
+
+    // Assert
+    assertEquals("John", result.getFirstName());
+    verify(userRepo, times(1)).saveAndFlush(currentUser);
+  }
+
+  @Test
+  public void testUpdateUser_versionConflict() {
     // Arrange
     User existingUser = new User("john@example.com", "password", "John", "Doe");
-    when(userRepo.findAll()).thenReturn(Collections.singletonList(existingUser));
+    User changes = new User();
+    changes.setLastName("Smith");
+    when(userRepo.findCurrentByEmailAddress("john@example.com")).thenReturn(Optional.of(existingUser));
+    when(userRepo.saveAndFlush(existingUser))
+        .thenThrow(new ObjectOptimisticLockingFailureException(User.class, existingUser.getUserId()));
+
+    // Act & Assert
+    assertThrows(OptimisticLockingFailureException.class, () -> {
+      userDAOImpl.updateUser(existingUser, changes);
+    });
+  }
+
+  @Test
+  public void testGetChangesAfter_mergesUpdatesAndDeletesInOrder() {
+    // Arrange
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+    LocalDateTime until = base.plusHours(1);
+    UserSummary created = new UserSummary(UUID.randomUUID(), "a@example.com", "A", "A", base, base);
+    UserSummary updated = new UserSummary(UUID.randomUUID(), "c@example.com", "C", "C", base, base.plusMinutes(3));
+    UserTombstone deleted = new UserTombstone(UUID.randomUUID(), "b@example.com", base.plusMinutes(2));
+    UserChangeCursor cursor = UserChangeCursor.START;
+    when(userRepo.findSummariesChangedAfter(cursor.changedAt(), cursor.userId(), until, Limit.of(2)))
+        .thenReturn(List.of(created, updated));
+    when(userTombstoneRepo.findDeletedAfter(cursor.changedAt(), cursor.userId(), until, Limit.of(2)))
+        .thenReturn(List.of(deleted));
+
+    // Act
+    List<UserChange> result = userDAOImpl.getChangesAfter(cursor, until, 2);
+
+    // Assert
+    assertEquals(2, result.size());
+    assertEquals(UserChange.Type.CREATED, result.get(0).type());
+    assertEquals(UserChange.Type.DELETED, result.get(1).type());
+    assertEquals("b@example.com", result.get(1).emailAddress());
+  }
+
+  @Test
+  public void testGetChangesAfter_breaksTimestampTiesByUnsignedId() {
+    // Arrange: same timestamp; as unsigned bytes 0x7f... sorts before 0xf0..., unlike UUID.compareTo.
+    LocalDateTime at = LocalDateTime.of(2024, 1, 1, 12, 0);
+    LocalDateTime until = at.plusHours(1);
+    UUID lowId = UUID.fromString("7fffffff-0000-4000-8000-000000000000");
+    UUID highId = UUID.fromString("f0000000-0000-4000-8000-000000000000");
+    UserSummary low = new UserSummary(lowId, "low@example.com", "L", "L", at, at);
+    UserTombstone high = new UserTombstone(highId, "high@example.com", at);
+    UserChangeCursor cursor = UserChangeCursor.START;
+    when(userRepo.findSummariesChangedAfter(cursor.changedAt(), cursor.userId(), until, Limit.of(2)))
+        .thenReturn(List.of(low));
+    when(userTombstoneRepo.findDeletedAfter(cursor.changedAt(), cursor.userId(), until, Limit.of(2)))
+        .thenReturn(List.of(high));
+
+    // Act
+    List<UserChange> result = userDAOImpl.getChangesAfter(cursor, until, 2);
+
+    // Assert
+    assertEquals(lowId, result.get(0).userId());
+    assertEquals(highId, result.get(1).userId());
+  }
+
+  @Test
+  public void testDeleteUser_userExists() {
+    // Arrange
+    User user = new User("john@example.com", "password", "John", "Doe");
+    when(userRepo.findCurrentByEmailAddress("john@example.com")).thenReturn(Optional.of(user));
 
     // Act
     userDAOImpl.deleteUser("john@example.com");
 
     // Assert
-    verify(userRepo, times(1)).delete(existingUser);
+    verify(userRepo, times(1)).delete(user);
+    verify(userTombstoneRepo).save(argThat(tombstone -> tombstone.getUserId().equals(user.getUserId())));
   }
 
   @Test
   public void testDeleteUser_userDoesNotExist() {
     // Arrange
-    when(userRepo.findAll()).thenReturn(Collections.emptyList());
+    when(userRepo.findCurrentByEmailAddress("nonexistent@example.com")).thenReturn(Optional.empty());
 
     // Act & Assert
     assertThrows(IllegalArgumentException.class, () -> {
       userDAOImpl.deleteUser("nonexistent@example.com");
     });
+    verify(userRepo, never()).delete(any());
+    verify(userTombstoneRepo, never()).save(any());
   }
 }
@@ -4,6 +4,7 @@ import com.cloudcomputing.movieRetrievalWebApp.MovieRetrievalWebAppApplication;
 import com.cloudcomputing.movieRetrievalWebApp.dao.implementation.UserDAOImpl;
 import com.cloudcomputing.movieRetrievalWebApp.model.User;
 import com.cloudcomputing.movieRetrievalWebApp.repository.UserRepo;
+import com.cloudcomputing.movieRetrievalWebApp.repository.UserTombstoneRepo;
 
 import jakarta.transaction.Transactional;
 
@@ -17,10 +18,10 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.Collections;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
@@ -34,16 +35,15 @@ public class UserDaoImplIntegrationTest {
   @MockBean
   private UserRepo userRepo;
 
+  @Autowired
+  private UserTombstoneRepo userTombstoneRepo;
+
   private User sampleUser;
 
   @BeforeEach
   public void setUp() {
     // Setup a sample user object for testing
-    sampleUser = new User();
-    sampleUser.setEmailAddress("john.doe@example.com");
-    sampleUser.setPassword("password123");
-    sampleUser.setFirstName("John");
-    sampleUser.setLastName("Doe");
+    sampleUser = new User("john.doe@example.com", "password123", "John", "Doe");
   }
 
   @Test
@@ -66,10 +66,10 @@ public class UserDaoImplIntegrationTest {
   @Test
   public void testGetUserById_userExists() {
     // Arrange
-    when(userRepo.findById(anyLong())).thenReturn(Optional.of(sampleUser));
+    when(userRepo.findById(any(UUID.class))).thenReturn(Optional.of(sampleUser));
 
     // Act
-    Optional<User> foundUser = userDAOImpl.getUserById(1L);
+    Optional<User> foundUser = userDAOImpl.getUserById(sampleUser.getUserId());
 
     // Assert
     assertTrue(foundUser.isPresent());
@@ -79,10 +79,10 @@ public class UserDaoImplIntegrationTest {
   @Test
   public void testGetUserById_userDoesNotExist() {
     // Arrange
-    when(userRepo.findById(anyLong())).thenReturn(Optional.empty());
+    when(userRepo.findById(any(UUID.class))).thenReturn(Optional.empty());
 
     // Act
-    Optional<User> foundUser = userDAOImpl.getUserById(1L);
+    Optional<User> foundUser = userDAOImpl.getUserById(sampleUser.getUserId());
 
     // Assert
     assertFalse(foundUser.isPresent());
@@ -91,8 +91,7 @@ public class UserDaoImplIntegrationTest {
   @Test
   public void testCreateUser_userDoesNotExist() {
     // Arrange
-    when(userRepo.findAll()).thenReturn(Collections.emptyList());
-    when(userRepo.save(any(User.class))).thenReturn(sampleUser);
+    when(userRepo.saveAndFlush(any(User.class))).thenReturn(sampleUser);
 
     // Act
     User createdUser = userDAOImpl.createUser(sampleUser);
@@ -100,33 +99,38 @@ public class UserDaoImplIntegrationTest {
     // Assert
     assertNotNull(createdUser);
     assertEquals("john.doe@example.com", createdUser.getEmailAddress());
-    verify(userRepo, times(1)).save(any(User.class));
+    verify(userRepo, times(1)).saveAndFlush(any(User.class));
   }
 
   @Test
   public void testUpdateUser_userExists() {
     // Arrange
-    User updatedUser = new User("john.doe@example.com", "newpassword", "John", "Smith");
-    when(userRepo.findAll()).thenReturn(Collections.singletonList(sampleUser));
-    when(userRepo.save(any(User.class))).thenReturn(updatedUser);
+    User changes = new User();
+    changes.setPassword("newpassword");
+    changes.setLastName("Smith");
+    when(userRepo.findCurrentByEmailAddress("john.doe@example.com")).thenReturn(Optional.of(sampleUser));
+    when(userRepo.saveAndFlush(sampleUser)).thenReturn(sampleUser);
 
     // Act
-    User result = userDAOImpl.updateUser("john.doe@example.com", updatedUser);
+    User result = userDAOImpl.updateUser(sampleUser, changes);
 
     // Assert
     assertEquals("newpassword", result.getPassword());
     assertEquals("Smith", result.getLastName());
+    assertEquals("John", result.getFirstName());
+    verify(userRepo, times(1)).saveAndFlush(sampleUser);
   }
 
   @Test
   public void testDeleteUser_userExists() {
     // Arrange
-    when(userRepo.findAll()).thenReturn(Collections.singletonList(sampleUser));
+    when(userRepo.findCurrentByEmailAddress("john.doe@example.com")).thenReturn(Optional.of(sampleUser));
 
     // Act
     userDAOImpl.deleteUser("john.doe@example.com");
 
     // Assert
     verify(userRepo, times(1)).delete(sampleUser);
+    assertTrue(userTombstoneRepo.findById(sampleUser.getUserId()).isPresent());
   }
 }
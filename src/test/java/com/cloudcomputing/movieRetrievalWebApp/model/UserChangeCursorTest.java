@@ -0,0 +1,31 @@
+package com.cloudcomputing.movieRetrievalWebApp.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class UserChangeCursorTest {
+
+  @Test
+  public void encode_roundTripsTimestampAndId() {
+    UserChangeCursor cursor = new UserChangeCursor(LocalDateTime.of(2024, 5, 17, 9, 30, 15, 123_456_000),
+        UUID.randomUUID());
+
+    assertEquals(cursor, UserChangeCursor.decode(cursor.encode()));
+  }
+
+  @Test
+  public void encode_startCursorRoundTrips() {
+    assertEquals(UserChangeCursor.START, UserChangeCursor.decode(UserChangeCursor.START.encode()));
+  }
+
+  @Test
+  public void decode_rejectsMalformedTokens() {
+    assertThrows(IllegalArgumentException.class, () -> UserChangeCursor.decode("not a cursor!"));
+    assertThrows(IllegalArgumentException.class, () -> UserChangeCursor.decode("AAAA"));
+  }
+}
@@ -0,0 +1,93 @@
+package com.cloudcomputing.movieRetrievalWebApp.repository;
+
+import com.cloudcomputing.movieRetrievalWebApp.dao.UserDAO;
+import com.cloudcomputing.movieRetrievalWebApp.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.cache.hibernate.statistics=true")
+class UserRepoSecondLevelCacheTest {
+
+  private static final String EMAIL = "second-level-cache@example.com";
+  private static final String OTHER_EMAIL = "second-level-cache-other@example.com";
+
+  @Autowired
+  private UserRepo userRepo;
+
+  @Autowired
+  private UserTombstoneRepo userTombstoneRepo;
+
+  @Autowired
+  private UserDAO userDAO;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @AfterEach
+  void tearDown() {
+    for (String email : new String[] {EMAIL, OTHER_EMAIL}) {
+      userRepo.findCurrentByEmailAddress(email).ifPresent(userRepo::delete);
+    }
+    userTombstoneRepo.deleteAll(userTombstoneRepo.findAll().stream()
+        .filter(tombstone -> tombstone.getEmailAddress().equals(OTHER_EMAIL))
+        .toList());
+  }
+
+  @Test
+  void findByEmailAddress_repeatLoadsSkipSql() {
+    User saved = userRepo.saveAndFlush(new User(EMAIL, "hashedPassword", "Cache", "Test"));
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    Optional<User> first = userRepo.findByEmailAddress(EMAIL);
+    Optional<User> second = userRepo.findByEmailAddress(EMAIL);
+
+    assertTrue(first.isPresent());
+    assertTrue(second.isPresent());
+    assertEquals(saved.getUserId(), second.get().getUserId());
+    assertEquals(0, statistics.getPrepareStatementCount());
+    assertTrue(statistics.getNaturalIdCacheHitCount() >= 2);
+  }
+
+  @Test
+  void findById_repeatLoadsSkipSql() {
+    User saved = userRepo.saveAndFlush(new User(EMAIL, "hashedPassword", "Cache", "Test"));
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    userRepo.findById(saved.getUserId());
+    Optional<User> reloaded = userRepo.findById(saved.getUserId());
+
+    assertTrue(reloaded.isPresent());
+    assertEquals(0, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void writesToAnotherUserKeepEntriesCached() {
+    User cached = userRepo.saveAndFlush(new User(EMAIL, "hashedPassword", "Cache", "Test"));
+    User other = userRepo.saveAndFlush(new User(OTHER_EMAIL, "hashedPassword", "Other", "Test"));
+    userRepo.findByEmailAddress(EMAIL);
+
+    User changes = new User();
+    changes.setFirstName("Changed");
+    userDAO.updateUser(other, changes);
+    userDAO.deleteUser(OTHER_EMAIL);
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    Optional<User> reloaded = userRepo.findByEmailAddress(EMAIL);
+
+    assertTrue(reloaded.isPresent());
+    assertEquals(cached.getUserId(), reloaded.get().getUserId());
+    assertEquals(0, statistics.getPrepareStatementCount());
+  }
+}
@@ -1,5 +1,10 @@
 package com.cloudcomputing.movieRetrievalWebApp.service;
 
+import com.cloudcomputing.movieRetrievalWebApp.cache.CredentialCache;
+import com.cloudcomputing.movieRetrievalWebApp.cache.KnownEmailFilter;
+import com.cloudcomputing.movieRetrievalWebApp.cache.UserCache;
+import com.cloudcomputing.movieRetrievalWebApp.cache.UserResponseCache;
+import com.cloudcomputing.movieRetrievalWebApp.config.HashingCapacityExceededException;
 import com.cloudcomputing.movieRetrievalWebApp.dao.UserDAO;
 import com.cloudcomputing.movieRetrievalWebApp.model.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,12 +12,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.timgroup.statsd.NoOpStatsDClient;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,6 +38,18 @@ public class UserServiceTest {
   @Mock
   private PasswordEncoder passwordEncoder;
 
+  @Mock
+  private CredentialCache credentialCache;
+
+  @Mock
+  private KnownEmailFilter knownEmailFilter;
+
+  @Mock
+  private UserResponseCache userResponseCache;
+
+  @Spy
+  private UserCache userCache = new UserCache(100, 60, new NoOpStatsDClient());
+
   @InjectMocks
   private UserService userService;
 
@@ -35,11 +57,7 @@ public class UserServiceTest {
 
   @BeforeEach
   public void setUp() {
-    user = new User();
-    user.setEmailAddress("test@example.com");
-    user.setPassword("password");
-    user.setFirstName("John");
-    user.setLastName("Doe");
+    user = new User("test@example.com", "password", "John", "Doe");
   }
 
   @Test
@@ -54,9 +72,9 @@ public class UserServiceTest {
 
   @Test
   public void testGetUserById() {
-    when(userDAO.getUserById(1L)).thenReturn(Optional.of(user));
+    when(userDAO.getUserById(user.getUserId())).thenReturn(Optional.of(user));
 
-    Optional<User> foundUser = userService.getUserById(1L);
+    Optional<User> foundUser = userService.getUserById(user.getUserId());
 
     assertTrue(foundUser.isPresent());
     assertEquals("test@example.com", foundUser.get().getEmailAddress());
@@ -64,7 +82,7 @@ public class UserServiceTest {
 
   @Test
   public void testGetUserByEmail() {
-    when(userDAO.getAllUsers()).thenReturn(Arrays.asList(user));
+    when(userDAO.getUserByEmail("test@example.com")).thenReturn(Optional.of(user));
 
     Optional<User> foundUser = userService.getUserByEmail("test@example.com");
 
@@ -72,6 +90,58 @@ public class UserServiceTest {
     assertEquals("test@example.com", foundUser.get().getEmailAddress());
   }
 
+  @Test
+  public void testGetUserByEmail_servedFromCacheOnRepeatRead() {
+    when(userDAO.getUserByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+    userService.getUserByEmail("test@example.com");
+    Optional<User> foundUser = userService.getUserByEmail("test@example.com");
+
+    assertTrue(foundUser.isPresent());
+    verify(userDAO, times(1)).getUserByEmail("test@example.com");
+    assertEquals(1, userCache.getEmailCacheStats().hitCount());
+    assertEquals(1, userCache.getEmailCacheStats().missCount());
+  }
+
+  @Test
+  public void testGetUserById_servedFromCacheAfterEmailLookup() {
+    when(userDAO.getUserByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+    userService.getUserByEmail("test@example.com");
+    Optional<User> foundUser = userService.getUserById(user.getUserId());
+
+    assertTrue(foundUser.isPresent());
+    verify(userDAO, never()).getUserById(any());
+  }
+
+  @Test
+  public void testUpdateUser_refreshesCachedUser() {
+    User updated = new User("test@example.com", "hashedPassword", "Jane", "Doe");
+    when(userDAO.getUserByEmail("test@example.com")).thenReturn(Optional.of(user));
+    when(passwordEncoder.encode(any(String.class))).thenReturn("hashedPassword");
+    when(userDAO.updateUser(any(User.class), any(User.class))).thenReturn(updated);
+
+    userService.getUserByEmail("test@example.com");
+    userService.updateUser("test@example.com", user);
+
+    assertEquals("Jane", userService.getUserByEmail("test@example.com").get().getFirstName());
+    verify(userDAO, times(1)).getUserByEmail("test@example.com");
+    verify(userResponseCache).invalidate(user.getUserId());
+  }
+
+  @Test
+  public void testDeleteUser_invalidatesCachedUser() {
+    when(userDAO.getUserByEmail("test@example.com")).thenReturn(Optional.of(user));
+    doNothing().when(userDAO).deleteUser("test@example.com");
+
+    userService.getUserByEmail("test@example.com");
+    userService.deleteUser("test@example.com");
+    userService.getUserByEmail("test@example.com");
+
+    verify(userDAO, times(2)).getUserByEmail("test@example.com");
+    verify(userResponseCache).invalidate(user.getUserId());
+  }
+
   @Test
   public void testAddUser() {
     when(passwordEncoder.encode(any(String.class))).thenReturn("hashedPassword");
@@ -83,18 +153,128 @@ public class UserServiceTest {
     assertEquals("hashedPassword", createdUser.getPassword());
     verify(passwordEncoder, times(1)).encode("password");
     verify(userDAO, times(1)).createUser(any(User.class));
+    verify(knownEmailFilter).add("test@example.com");
   }
 
   @Test
   public void testUpdateUser() {
+    when(userDAO.getUserByEmail("test@example.com")).thenReturn(Optional.of(user));
     when(passwordEncoder.encode(any(String.class))).thenReturn("hashedPassword");
-    when(userDAO.updateUser(anyString(), any(User.class))).thenReturn(user);
+    when(userDAO.updateUser(any(User.class), any(User.class))).thenReturn(user);
 
     User updatedUser = userService.updateUser("test@example.com", user);
 
     assertEquals(user, updatedUser);
     verify(passwordEncoder, times(1)).encode("password");
-    verify(userDAO, times(1)).updateUser(eq("test@example.com"), any(User.class));
+    verify(credentialCache, times(1)).invalidate("test@example.com");
+    verify(userDAO, times(1)).updateUser(eq(user), any(User.class));
+  }
+
+  @Test
+  public void testUpdateUser_nameOnlyDoesNotHashPassword() {
+    User changes = new User();
+    changes.setFirstName("Jane");
+    User updated = new User("test@example.com", "password", "Jane", "Doe");
+    when(userDAO.getUserByEmail("test@example.com")).thenReturn(Optional.of(user));
+    when(userDAO.updateUser(any(User.class), any(User.class))).thenReturn(updated);
+
+    User result = userService.updateUser("test@example.com", changes);
+
+    assertEquals("Jane", result.getFirstName());
+    assertNull(changes.getPassword());
+    verify(passwordEncoder, never()).encode(any());
+    verify(credentialCache, never()).invalidate(anyString());
+  }
+
+  @Test
+  public void testUpdateUser_unchangedCachedProfileIsLeftToTheDao() {
+    User changes = new User();
+    changes.setFirstName(user.getFirstName());
+    changes.setLastName(user.getLastName());
+    when(userDAO.getUserByEmail("test@example.com")).thenReturn(Optional.of(user));
+    when(userDAO.updateUser(user, changes)).thenReturn(user);
+
+    User result = userService.updateUser("test@example.com", changes);
+
+    assertEquals(user, result);
+    verify(passwordEncoder, never()).encode(any());
+    verify(userDAO, times(1)).updateUser(user, changes);
+  }
+
+  @Test
+  public void testUpdateUser_conflictPropagates() {
+    User changes = new User();
+    changes.setLastName("Smith");
+    when(userDAO.getUserByEmail("test@example.com")).thenReturn(Optional.of(user));
+    when(userDAO.updateUser(any(User.class), eq(changes))).thenThrow(new OptimisticLockingFailureException("stale"));
+
+    assertThrows(OptimisticLockingFailureException.class,
+        () -> userService.updateUser("test@example.com", changes));
+  }
+
+  @Test
+  public void testAddUsers_reportsDuplicatesAndExistingPerRow() {
+    List<User> users = List.of(
+        new User("new@example.com", "password1", "New", "User"),
+        new User("existing@example.com", "password2", "Existing", "User"),
+        new User("new@example.com", "password3", "Again", "User"));
+    when(userDAO.findExistingEmails(List.of("new@example.com", "existing@example.com")))
+        .thenReturn(Set.of("existing@example.com"));
+    when(passwordEncoder.encode("password1")).thenReturn("hashed1");
+    when(userDAO.createUsers(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    List<UserImportResult> results = userService.addUsers(users);
+
+    assertTrue(results.get(0).isCreated());
+    assertEquals("hashed1", results.get(0).user().getPassword());
+    assertFalse(results.get(1).isCreated());
+    assertFalse(results.get(2).isCreated());
+    verify(passwordEncoder, times(1)).encode(any());
+  }
+
+  @Test
+  public void testAddUsers_chunkFailureRetriedPerRow() {
+    List<User> users = List.of(
+        new User("first@example.com", "password1", "First", "User"),
+        new User("second@example.com", "password2", "Second", "User"));
+    when(userDAO.findExistingEmails(anyList())).thenReturn(Set.of());
+    when(passwordEncoder.encode(any(String.class))).thenReturn("hashed");
+    when(userDAO.createUsers(anyList())).thenThrow(new IllegalArgumentException("One or more users in the batch already exist."));
+    when(userDAO.createUser(any(User.class))).thenAnswer(invocation -> {
+      User user = invocation.getArgument(0);
+      if (user.getEmailAddress().equals("second@example.com")) {
+        throw new IllegalArgumentException("User with this email already exists.");
+      }
+      return user;
+    });
+
+    List<UserImportResult> results = userService.addUsers(users);
+
+    assertTrue(results.get(0).isCreated());
+    assertEquals("User with this email already exists.", results.get(1).error());
+  }
+
+  @Test
+  public void testAddUsers_hashingCapacityFailsRemainingRowsOnly() {
+    ReflectionTestUtils.setField(userService, "batchChunkSize", 1);
+    List<User> users = List.of(
+        new User("first@example.com", "password1", "First", "User"),
+        new User("second@example.com", "password2", "Second", "User"),
+        new User("third@example.com", "password3", "Third", "User"));
+    when(userDAO.findExistingEmails(anyList())).thenReturn(Set.of());
+    when(passwordEncoder.encode("password1")).thenReturn("hashed1");
+    when(passwordEncoder.encode("password2"))
+        .thenThrow(new HashingCapacityExceededException("Password hashing queue is full.", 2, null));
+    when(userDAO.createUsers(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    List<UserImportResult> results = userService.addUsers(users);
+
+    assertTrue(results.get(0).isCreated());
+    assertFalse(results.get(1).isCreated());
+    assertFalse(results.get(2).isCreated());
+    assertTrue(results.get(2).error().contains("retry"));
+    verify(userDAO, times(1)).createUsers(anyList());
+    verify(passwordEncoder, never()).encode("password3");
   }
 
   @Test
@@ -104,5 +284,6 @@ public class UserServiceTest {
     userService.deleteUser("test@example.com");
 
     verify(userDAO, times(1)).deleteUser("test@example.com");
+    verify(knownEmailFilter).remove("test@example.com");
   }
 }
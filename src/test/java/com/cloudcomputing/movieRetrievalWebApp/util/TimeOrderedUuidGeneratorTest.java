@@ -0,0 +1,42 @@
+package com.cloudcomputing.movieRetrievalWebApp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTest {
+
+  @Test
+  void next_setsVersionSevenAndIetfVariant() {
+    UUID id = TimeOrderedUuidGenerator.next();
+
+    assertEquals(7, id.version());
+    assertEquals(2, id.variant());
+  }
+
+  @Test
+  void next_embedsCurrentTimestamp() {
+    long before = System.currentTimeMillis();
+    UUID id = TimeOrderedUuidGenerator.next();
+
+    long millis = id.getMostSignificantBits() >>> 16;
+    // The counter may borrow a few milliseconds from the future under load.
+    assertTrue(millis >= before && millis <= System.currentTimeMillis() + 50);
+  }
+
+  @Test
+  void next_isStrictlyIncreasingAndUnique() {
+    Set<UUID> seen = new HashSet<>();
+    UUID previous = TimeOrderedUuidGenerator.next();
+    for (int i = 0; i < 100_000; i++) {
+      UUID current = TimeOrderedUuidGenerator.next();
+      assertTrue(current.compareTo(previous) > 0);
+      assertTrue(seen.add(current));
+      previous = current;
+    }
+  }
+}
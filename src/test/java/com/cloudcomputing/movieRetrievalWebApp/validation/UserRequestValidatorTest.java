@@ -0,0 +1,73 @@
+package com.cloudcomputing.movieRetrievalWebApp.validation;
+
+import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserCreateDTO;
+import com.cloudcomputing.movieRetrievalWebApp.dto.userdto.UserUpdateDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserRequestValidatorTest {
+
+  // The expression the hand-written check replaces.
+  private static final Pattern EMAIL_REGEX = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
+
+  private final UserRequestValidator validator = new UserRequestValidator();
+
+  @Test
+  public void isValidEmail_agreesWithRegex() {
+    List<String> samples = List.of(
+        "jane.doe@example.com", "a@b", "first+tag_x-y@sub.example.co", "A1@B2",
+        "", "@", "@example.com", "jane@", "jane@@example.com", "ja@ne@example.com",
+        "jane doe@example.com", "jane@exa_mple.com", "jane+x@example+.com", "jan\u00e9@example.com",
+        "jane@example.com\n", "\njane@example.com", "jane@example.com ", ".@.", "-@-");
+
+    for (String email : samples) {
+      assertEquals(EMAIL_REGEX.matcher(email).matches(), UserRequestValidator.isValidEmail(email),
+          "mismatch for [" + email + "]");
+    }
+  }
+
+  @Test
+  public void validateSignup_reportsFirstViolation() {
+    assertEquals(ValidationResult.VALID, validator.validateSignup(createDTO("jane@example.com", "secret", null)));
+    assertEquals(ValidationResult.EMAIL_MISSING, validator.validateSignup(createDTO(null, null, "Jane")));
+    assertEquals(ValidationResult.EMAIL_INVALID, validator.validateSignup(createDTO("not-an-email", "", "Jane")));
+    assertEquals(ValidationResult.PASSWORD_MISSING, validator.validateSignup(createDTO("jane@example.com", "", "Jane")));
+  }
+
+  @Test
+  public void validateImport_alsoRequiresFirstName() {
+    assertEquals(ValidationResult.FIRST_NAME_MISSING,
+        validator.validateImport(createDTO("jane@example.com", "secret", " ")));
+    assertEquals(ValidationResult.VALID, validator.validateImport(createDTO("jane@example.com", "secret", "Jane")));
+  }
+
+  @Test
+  public void validateUpdate_rejectsEmptyBody() {
+    UserUpdateDTO update = new UserUpdateDTO();
+    assertEquals(ValidationResult.NO_FIELDS, validator.validateUpdate(update));
+
+    update.setLastName(null);
+    assertTrue(validator.validateUpdate(update).isValid());
+  }
+
+  @Test
+  public void messages_doNotEchoInput() {
+    ValidationResult result = validator.validateSignup(createDTO("secret-address", "pw", "Jane"));
+
+    assertFalse(result.isValid());
+    assertFalse(result.getMessage().contains("secret-address"));
+    assertNull(ValidationResult.VALID.getMessage());
+  }
+
+  private static UserCreateDTO createDTO(String email, String password, String firstName) {
+    UserCreateDTO dto = new UserCreateDTO();
+    dto.setEmailAddress(email);
+    dto.setPassword(password);
+    dto.setFirstName(firstName);
+    return dto;
+  }
+}